@@ -0,0 +1,4 @@
+#!/bin/bash
+# Builds target/benchmarks.jar and runs JMH with allocation profiling.
+# Any argument is passed to JMH, e.g. ./benchmarks.sh GroupByBenchmark -p parallelism=1,8
+mvn -B -q -Pjmh -DskipTests package && java --enable-preview --add-modules jdk.incubator.vector -jar target/benchmarks.jar -prof gc "$@"
@@ -0,0 +1,86 @@
+package com.evolutionnext.patternmatching;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Messages formatted per millisecond by the {@code switch} plus {@code String.format} methods
+ * of {@link PatternMatching} against {@link CompiledPatternMatching}, over a shuffled mix of
+ * Integer, Long, Double, String and Team inputs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class PatternDispatchBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    private final Object[] inputs = new Object[INPUTS];
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(22);
+        String[] cities = {"Seattle", "Minnesota", "Milwaukee", "Boston"};
+        for (int i = 0; i < INPUTS; i++) {
+            inputs[i] = switch (random.nextInt(5)) {
+                case 0 -> random.nextInt(-10_000, 10_000);
+                case 1 -> random.nextLong();
+                case 2 -> random.nextDouble() * 1_000;
+                case 3 -> "message-" + i;
+                default -> new Team(cities[random.nextInt(cities.length)], "Team" + i, random.nextInt(100), random.nextInt(100));
+            };
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void switchFormatterPatternSwitch(Blackhole blackhole) {
+        for (Object input : inputs) blackhole.consume(PatternMatching.formatterPatternSwitch(input));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void compiledFormatterPatternSwitch(Blackhole blackhole) {
+        for (Object input : inputs) blackhole.consume(CompiledPatternMatching.formatterPatternSwitch(input));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void switchMatchRecordPatterns(Blackhole blackhole) {
+        for (Object input : inputs) blackhole.consume(PatternMatching.matchRecordPatterns(input));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void compiledMatchRecordPatterns(Blackhole blackhole) {
+        for (Object input : inputs) blackhole.consume(CompiledPatternMatching.matchRecordPatterns(input));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void switchMatchRecordPatternsWhen(Blackhole blackhole) {
+        for (Object input : inputs) blackhole.consume(PatternMatching.matchRecordPatternsWhen(input));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void compiledMatchRecordPatternsWhen(Blackhole blackhole) {
+        for (Object input : inputs) blackhole.consume(CompiledPatternMatching.matchRecordPatternsWhen(input));
+    }
+}
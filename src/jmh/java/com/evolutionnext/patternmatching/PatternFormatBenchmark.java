@@ -0,0 +1,122 @@
+package com.evolutionnext.patternmatching;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting mixed messages into a reused {@code StringBuilder} and a direct
+ * {@code ByteBuffer}: through the {@code String}-returning methods of {@link PatternMatching},
+ * against the {@code formatTo} appenders of {@link CompiledPatternMatching}. Run with
+ * {@code -prof gc} (as {@code benchmarks.sh} does) and compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class PatternFormatBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    private final Object[] inputs = new Object[INPUTS];
+    private final Team[] teams = new Team[INPUTS];
+    private final StringBuilder builder = new StringBuilder(256);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(23);
+        for (int i = 0; i < INPUTS; i++) {
+            inputs[i] = switch (random.nextInt(4)) {
+                case 0 -> random.nextInt(-10_000, 10_000);
+                case 1 -> random.nextLong();
+                case 2 -> random.nextDouble() * 1_000;
+                default -> "message-" + i;
+            };
+            teams[i] = new Team("City" + i, "Team" + i, random.nextInt(100), random.nextInt(100));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public int stringToBuilder() {
+        int length = 0;
+        for (Object input : inputs) {
+            builder.setLength(0);
+            length += builder.append(PatternMatching.formatterPatternSwitch(input)).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public int formatToBuilder() {
+        int length = 0;
+        for (Object input : inputs) {
+            builder.setLength(0);
+            length += CompiledPatternMatching.formatTo(input, builder).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public int stringToByteBuffer() {
+        int length = 0;
+        for (Object input : inputs) {
+            buffer.clear();
+            buffer.put(PatternMatching.formatterPatternSwitch(input).getBytes(StandardCharsets.UTF_8));
+            length += buffer.position();
+        }
+        return length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public int formatToByteBuffer() {
+        int length = 0;
+        for (Object input : inputs) {
+            buffer.clear();
+            length += CompiledPatternMatching.formatTo(input, buffer);
+        }
+        return length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public int winningRecordStringToByteBuffer() {
+        int length = 0;
+        for (Team team : teams) {
+            buffer.clear();
+            buffer.put(PatternMatching.matchRecordPatternsWithWinningRecords(team).getBytes(StandardCharsets.UTF_8));
+            length += buffer.position();
+        }
+        return length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public int winningRecordFormatToByteBuffer() {
+        int length = 0;
+        for (Team team : teams) {
+            buffer.clear();
+            length += CompiledPatternMatching.formatWinningRecordTo(team, buffer);
+        }
+        return length;
+    }
+}
@@ -0,0 +1,97 @@
+package com.evolutionnext.streamgatherers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Gatherers;
+import java.util.stream.IntStream;
+
+/**
+ * Baselines for the JDK gatherers exercised in {@code BuiltInGatherersTest}.
+ * {@code mapConcurrent} maps {@code calls} elements through a simulated blocking call of
+ * {@code latencyMicros}, against a plain sequential {@code map}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class BuiltInGatherersBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Windows {
+        @Param({"100000"})
+        public int size;
+
+        @Param({"3", "100"})
+        public int window;
+
+        Integer[] input;
+
+        @Setup
+        public void setUp() {
+            input = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BlockingCalls {
+        @Param({"200"})
+        public int calls;
+
+        @Param({"100"})
+        public int latencyMicros;
+
+        @Param({"4", "32"})
+        public int maxConcurrency;
+
+        Integer[] input;
+
+        @Setup
+        public void setUp() {
+            input = IntStream.range(0, calls).boxed().toArray(Integer[]::new);
+        }
+
+        Integer call(Integer i) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+            return i;
+        }
+    }
+
+    @Benchmark
+    public void windowFixed(Windows windows, Blackhole blackhole) {
+        Arrays.stream(windows.input).gather(Gatherers.windowFixed(windows.window)).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void windowSliding(Windows windows, Blackhole blackhole) {
+        Arrays.stream(windows.input).gather(Gatherers.windowSliding(windows.window)).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void mapConcurrent(BlockingCalls calls, Blackhole blackhole) {
+        Arrays.stream(calls.input)
+            .gather(Gatherers.mapConcurrent(calls.maxConcurrency, calls::call))
+            .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void mapSequential(BlockingCalls calls, Blackhole blackhole) {
+        Arrays.stream(calls.input)
+            .map(calls::call)
+            .forEach(blackhole::consume);
+    }
+}
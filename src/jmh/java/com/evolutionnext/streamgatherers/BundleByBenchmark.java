@@ -0,0 +1,82 @@
+package com.evolutionnext.streamgatherers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Gatherer;
+import java.util.stream.Gatherers;
+import java.util.stream.IntStream;
+
+/**
+ * Bundles {@code size} integers into groups of {@code bundle}: the copy-and-removeAll
+ * {@code bundleBy} from {@code SimpleGathererTest}, {@link Gatherers#windowFixed(int)} and
+ * {@link Chunkers#ints(int)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class BundleByBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"10", "1000"})
+    public int bundle;
+
+    private Integer[] input;
+
+    @Setup
+    public void setUp() {
+        input = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+    }
+
+    @Benchmark
+    public void bundleBy(Blackhole blackhole) {
+        Arrays.stream(input).gather(bundleBy(bundle)).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void windowFixed(Blackhole blackhole) {
+        Arrays.stream(input).gather(Gatherers.windowFixed(bundle)).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void chunkers(Blackhole blackhole) {
+        Arrays.stream(input).gather(Chunkers.ints(bundle)).forEach(blackhole::consume);
+    }
+
+    private static Gatherer<Integer, List<Integer>, List<Integer>> bundleBy(int i) {
+        return Gatherer.of(ArrayList::new,
+            Gatherer.Integrator.of((state, element, downstream) -> {
+                state.add(element);
+                if (state.size() == i) {
+                    ArrayList<Integer> downstreamList = new ArrayList<>(state);
+                    downstream.push(downstreamList);
+                    state.removeAll(downstreamList);
+                }
+                return true;
+            }), (integers, integers2) -> {
+                integers.addAll(integers2);
+                return integers;
+            }, (integers, downstream) -> {
+                if (!integers.isEmpty()) downstream.push(integers);
+            });
+    }
+}
@@ -0,0 +1,97 @@
+package com.evolutionnext.streamgatherers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Gatherers;
+import java.util.stream.IntStream;
+
+import static com.evolutionnext.streamgatherers.ConcurrentMapper.mapConcurrent;
+import static com.evolutionnext.streamgatherers.ConcurrentMapper.mapConcurrentUnordered;
+
+/**
+ * Maps {@code calls} elements through a blocking call that usually takes {@code fastMicros}
+ * but takes {@code slowMicros} for one element in {@code slowEvery}. Each benchmark measures the
+ * time until the first {@code firstResults} results reach the consumer, sampled so the
+ * percentiles show how much head-of-line blocking the ordered gatherers add to the tail.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ConcurrentMapperBenchmark {
+
+    @Param({"200"})
+    public int calls;
+
+    @Param({"100"})
+    public int firstResults;
+
+    @Param({"100"})
+    public int fastMicros;
+
+    @Param({"20000"})
+    public int slowMicros;
+
+    @Param({"50"})
+    public int slowEvery;
+
+    @Param({"16"})
+    public int maxConcurrency;
+
+    private Integer[] input;
+    private boolean[] slow;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(12);
+        input = IntStream.range(0, calls).boxed().toArray(Integer[]::new);
+        slow = new boolean[calls];
+        for (int i = 0; i < calls; i++) slow[i] = random.nextInt(slowEvery) == 0;
+    }
+
+    private Integer call(Integer i) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(slow[i] ? slowMicros : fastMicros));
+        return i;
+    }
+
+    @Benchmark
+    public void builtInMapConcurrent(Blackhole blackhole) {
+        Arrays.stream(input)
+            .gather(Gatherers.mapConcurrent(maxConcurrency, this::call))
+            .limit(firstResults)
+            .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void orderedMapConcurrent(Blackhole blackhole) {
+        Arrays.stream(input)
+            .gather(mapConcurrent(maxConcurrency, this::call))
+            .limit(firstResults)
+            .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void unorderedMapConcurrent(Blackhole blackhole) {
+        Arrays.stream(input)
+            .gather(mapConcurrentUnordered(maxConcurrency, this::call))
+            .limit(firstResults)
+            .forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,73 @@
+package com.evolutionnext.streamgatherers;
+
+import com.evolutionnext.unnamedvariables.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dedup of {@code size} orders by a key drawn from {@code keys} values, with each mode of
+ * {@link DistinctGatherer} against {@code map(...).distinct()}. Run with {@code -prof gc}
+ * to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class DistinctBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"100000"})
+    public int keys;
+
+    private Order[] orders;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(19);
+        orders = new Order[size];
+        for (int i = 0; i < size; i++) orders[i] = new Order("CA", random.nextInt(keys));
+    }
+
+    @Benchmark
+    public void streamDistinct(Blackhole blackhole) {
+        Arrays.stream(orders).map(Order::amount).distinct().forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void distinctBy(Blackhole blackhole) {
+        Arrays.stream(orders).gather(DistinctGatherer.distinctBy(Order::amount)).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void distinctByLong(Blackhole blackhole) {
+        Arrays.stream(orders).gather(DistinctGatherer.distinctByLong(Order::amount)).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void distinctByRecent(Blackhole blackhole) {
+        Arrays.stream(orders).gather(DistinctGatherer.distinctByRecent(Order::amount, keys / 10)).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void distinctByApproximate(Blackhole blackhole) {
+        Arrays.stream(orders).gather(DistinctGatherer.distinctByApproximate(Order::amount, keys, 0.01)).forEach(blackhole::consume);
+    }
+}
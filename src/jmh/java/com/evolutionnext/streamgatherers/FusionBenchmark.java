@@ -0,0 +1,76 @@
+package com.evolutionnext.streamgatherers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Gatherer;
+import java.util.stream.Gatherers;
+import java.util.stream.LongStream;
+
+/**
+ * Runs a chain of {@code stages} map, filter and scan stages (cycling in that order) once as
+ * gatherers composed with {@code andThen} and once as a single {@link FusedGatherer}. Both
+ * sides use greedy integrators, so only fusion differs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class FusionBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"3", "5", "10"})
+    public int stages;
+
+    private Long[] input;
+    private Gatherer<Long, ?, Long> composed;
+    private Gatherer<Long, ?, Long> fused;
+
+    @Setup
+    public void setUp() {
+        input = LongStream.range(0, size).boxed().toArray(Long[]::new);
+        Gatherer<Long, ?, Long> chain = null;
+        FusedGatherer<Long, Long> fusion = FusedGatherer.fuse();
+        for (int i = 0; i < stages; i++) {
+            Gatherer<Long, ?, Long> stage = switch (i % 3) {
+                case 0 -> Gatherer.<Long, Long>of(Gatherer.Integrator.ofGreedy((_, e, downstream) -> downstream.push(e * 3 + 1)));
+                case 1 -> Gatherer.<Long, Long>of(Gatherer.Integrator.ofGreedy((_, e, downstream) -> e % 5 == 0 || downstream.push(e)));
+                default -> Gatherers.<Long, Long>scan(() -> 0L, Long::sum);
+            };
+            chain = chain == null ? stage : chain.andThen(stage);
+            fusion = switch (i % 3) {
+                case 0 -> fusion.map(e -> e * 3 + 1);
+                case 1 -> fusion.filter(e -> e % 5 != 0);
+                default -> fusion.scan(() -> 0L, Long::sum);
+            };
+        }
+        composed = chain;
+        fused = fusion.toGatherer();
+    }
+
+    @Benchmark
+    public void andThenChain(Blackhole blackhole) {
+        Arrays.stream(input).gather(composed).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void fusedChain(Blackhole blackhole) {
+        Arrays.stream(input).gather(fused).forEach(blackhole::consume);
+    }
+}
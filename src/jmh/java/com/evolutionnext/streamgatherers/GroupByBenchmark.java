@@ -0,0 +1,97 @@
+package com.evolutionnext.streamgatherers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Groups {@code size} integers into {@code keys} buckets. The parallel benchmarks run
+ * inside a pool of {@code parallelism} workers, so comparing rows with different
+ * parallelism shows how the combiner scales with the number of cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class GroupByBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"16", "65536"})
+    public int keys;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Map.Entry<Integer, List<Integer>>> sequential() {
+        return IntStream.range(0, size).boxed()
+            .gather(GroupByGatherer.GroupBy.groupBy(i -> i % keys))
+            .toList();
+    }
+
+    @Benchmark
+    public List<Map.Entry<Integer, List<Integer>>> parallel() {
+        return pool.submit(() -> IntStream.range(0, size).boxed().parallel()
+            .gather(GroupByGatherer.GroupBy.groupBy(i -> i % keys))
+            .toList()).join();
+    }
+
+    @Benchmark
+    public List<Map.Entry<Integer, List<Integer>>> parallelUnordered() {
+        return pool.submit(() -> IntStream.range(0, size).boxed().parallel().unordered()
+            .gather(GroupByGatherer.GroupBy.groupByUnordered(i -> i % keys))
+            .toList()).join();
+    }
+
+    @Benchmark
+    public Map<Integer, List<Integer>> groupingByCollector() {
+        return pool.submit(() -> IntStream.range(0, size).boxed().parallel()
+            .collect(Collectors.groupingBy(i -> i % keys))).join();
+    }
+
+    @Benchmark
+    public List<Map.Entry<Integer, Long>> parallelCounting() {
+        return pool.submit(() -> IntStream.range(0, size).boxed().parallel()
+            .gather(GroupByGatherer.GroupBy.groupByCounting(i -> i % keys))
+            .toList()).join();
+    }
+
+    @Benchmark
+    public Map<Integer, Long> groupingByCountingCollector() {
+        return pool.submit(() -> IntStream.range(0, size).boxed().parallel()
+            .collect(Collectors.groupingBy(i -> i % keys, Collectors.counting()))).join();
+    }
+}
@@ -0,0 +1,67 @@
+package com.evolutionnext.streamgatherers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Gatherer;
+import java.util.stream.IntStream;
+
+/**
+ * The cost of {@link InstrumentedGatherers#instrumented} around a cheap flatMap-style
+ * gatherer, with recording switched on and off, against the bare gatherer. Add
+ * {@code -jvmArgsAppend -XX:StartFlightRecording} to include the JFR events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class InstrumentedGatherersBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"true", "false"})
+    public boolean recording;
+
+    private Integer[] input;
+    private Gatherer<Integer, ?, Integer> bare;
+    private Gatherer<Integer, ?, Integer> instrumented;
+
+    @Setup
+    public void setUp() {
+        input = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+        bare = Gatherer.of((_, element, downstream) -> downstream.push(element) && downstream.push(element + 1));
+        instrumented = InstrumentedGatherers.instrumented(bare, "benchmark");
+        InstrumentedGatherers.setEnabled(recording);
+    }
+
+    @TearDown
+    public void tearDown() {
+        InstrumentedGatherers.setEnabled(true);
+    }
+
+    @Benchmark
+    public void bare(Blackhole blackhole) {
+        Arrays.stream(input).gather(bare).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void instrumented(Blackhole blackhole) {
+        Arrays.stream(input).gather(instrumented).forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,86 @@
+package com.evolutionnext.streamgatherers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Gatherer;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the same summing gatherer built from a greedy and a non-greedy integrator, sequentially
+ * and in parallel. A greedy integrator lets the pipeline push elements with
+ * {@code forEachRemaining} instead of checking for cancellation after every element.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class IntegratorBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private Integer[] input;
+
+    private static final Gatherer<Integer, long[], Long> GREEDY = Gatherer.of(
+        () -> new long[1],
+        Gatherer.Integrator.ofGreedy((state, element, _) -> {
+            state[0] += element;
+            return true;
+        }),
+        (left, right) -> {
+            left[0] += right[0];
+            return left;
+        },
+        (state, downstream) -> downstream.push(state[0]));
+
+    private static final Gatherer<Integer, long[], Long> NON_GREEDY = Gatherer.of(
+        () -> new long[1],
+        Gatherer.Integrator.of((state, element, _) -> {
+            state[0] += element;
+            return true;
+        }),
+        (left, right) -> {
+            left[0] += right[0];
+            return left;
+        },
+        (state, downstream) -> downstream.push(state[0]));
+
+    @Setup
+    public void setUp() {
+        input = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+    }
+
+    @Benchmark
+    public Long greedySequential() {
+        return Arrays.stream(input).gather(GREEDY).findFirst().orElseThrow();
+    }
+
+    @Benchmark
+    public Long nonGreedySequential() {
+        return Arrays.stream(input).gather(NON_GREEDY).findFirst().orElseThrow();
+    }
+
+    @Benchmark
+    public Long greedyParallel() {
+        return Arrays.stream(input).parallel().gather(GREEDY).findFirst().orElseThrow();
+    }
+
+    @Benchmark
+    public Long nonGreedyParallel() {
+        return Arrays.stream(input).parallel().gather(NON_GREEDY).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,80 @@
+package com.evolutionnext.streamgatherers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Gatherers;
+import java.util.stream.IntStream;
+
+import static com.evolutionnext.streamgatherers.MicroBatcher.microBatch;
+
+/**
+ * Writes {@code records} to a stand-in sink whose every call costs {@code callMicros} plus
+ * {@code perRecordNanos} per record, the shape of a database round trip. {@code perRecord}
+ * makes one call per element through {@code mapConcurrent}, {@code microBatched} one call per
+ * {@code batchSize} elements, both with {@code maxInFlight} calls outstanding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class MicroBatchBenchmark {
+
+    @Param({"10000"})
+    public int records;
+
+    @Param({"200"})
+    public int callMicros;
+
+    @Param({"500"})
+    public int perRecordNanos;
+
+    @Param({"8"})
+    public int maxInFlight;
+
+    @Param({"16", "256"})
+    public int batchSize;
+
+    private Integer[] input;
+
+    @Setup
+    public void setUp() {
+        input = IntStream.range(0, records).boxed().toArray(Integer[]::new);
+    }
+
+    private int write(List<Integer> rows) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(callMicros) + (long) perRecordNanos * rows.size());
+        return rows.size();
+    }
+
+    @Benchmark
+    public void perRecord(Blackhole blackhole) {
+        Arrays.stream(input)
+            .gather(Gatherers.mapConcurrent(maxInFlight, i -> write(List.of(i))))
+            .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void microBatched(Blackhole blackhole) {
+        Arrays.stream(input)
+            .gather(microBatch(batchSize, Duration.ofMillis(5), maxInFlight, this::write))
+            .forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,64 @@
+package com.evolutionnext.streamgatherers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Gatherers;
+
+/**
+ * Running balances over {@code rows} ledger lines that are parsed on the way in, with the
+ * sequential {@code Gatherers.scan} against {@link ParallelScanGatherer#scanLong} on a
+ * parallel stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ParallelScanBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    private String[] ledger;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(13);
+        ledger = new String[rows];
+        for (int i = 0; i < rows; i++) ledger[i] = "acct-" + random.nextInt(1000) + "," + (random.nextInt(20_000) - 10_000);
+    }
+
+    private static long amount(String line) {
+        return Long.parseLong(line, line.indexOf(',') + 1, line.length(), 10);
+    }
+
+    @Benchmark
+    public void sequentialScan(Blackhole blackhole) {
+        Arrays.stream(ledger)
+            .map(ParallelScanBenchmark::amount)
+            .gather(Gatherers.scan(() -> 0L, Long::sum))
+            .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void parallelScanLong(Blackhole blackhole) {
+        Arrays.stream(ledger).parallel()
+            .gather(ParallelScanGatherer.scanLong(ParallelScanBenchmark::amount, 0L, Long::sum))
+            .forEachOrdered(blackhole::consume);
+    }
+}
@@ -0,0 +1,65 @@
+package com.evolutionnext.streamgatherers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the original PrimeOrTen gatherers against {@link RunningSumGatherer#primeOrTen()}.
+ * {@code small} feeds 1..size, so sums stay inside the sieve; {@code large} feeds random
+ * ints whose sums land above the sieve and go through Miller-Rabin, while still fitting
+ * the {@code int} arithmetic of the original classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class PrimeOrTenBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"small", "large"})
+    public String values;
+
+    private Integer[] input;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        input = values.equals("small")
+            ? IntStream.rangeClosed(1, size).boxed().toArray(Integer[]::new)
+            : random.ints(size, 0, Integer.MAX_VALUE / 20).boxed().toArray(Integer[]::new);
+    }
+
+    @Benchmark
+    public List<List<Integer>> primeOrTenGatherer() {
+        return Arrays.stream(input).gather(PrimeOrTenGatherer.gatherer()).toList();
+    }
+
+    @Benchmark
+    public List<List<Integer>> primeOrTenGathererWithStatic() {
+        return Arrays.stream(input).gather(PrimeOrTenGathererWithStatic.gatherer()).toList();
+    }
+
+    @Benchmark
+    public List<IntChunk> runningSumPrimeOrTen() {
+        return Arrays.stream(input).gather(RunningSumGatherer.primeOrTen()).toList();
+    }
+}
@@ -0,0 +1,65 @@
+package com.evolutionnext.streamgatherers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distinct count and median of {@code size} values, with {@link SketchGatherers} against
+ * the exact {@code distinct().count()} and a full sort. Run with {@code -prof gc} to compare
+ * the memory held.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class SketchBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private List<Integer> values;
+
+    @Setup
+    public void setUp() {
+        values = new SplittableRandom(18).ints(size, 0, size / 2).boxed().toList();
+    }
+
+    @Benchmark
+    public void hyperLogLog(Blackhole blackhole) {
+        values.parallelStream().gather(SketchGatherers.<Integer>distinctCount(14)).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void exactDistinct(Blackhole blackhole) {
+        blackhole.consume(values.parallelStream().distinct().count());
+    }
+
+    @Benchmark
+    public void kllMedian(Blackhole blackhole) {
+        values.parallelStream().gather(SketchGatherers.quantiles(KllSketch.DEFAULT_K, Integer::doubleValue))
+            .forEach(sketch -> blackhole.consume(sketch.quantile(0.5)));
+    }
+
+    @Benchmark
+    public void sortedMedian(Blackhole blackhole) {
+        int[] sorted = values.parallelStream().mapToInt(Integer::intValue).sorted().toArray();
+        blackhole.consume(sorted[sorted.length / 2]);
+    }
+}
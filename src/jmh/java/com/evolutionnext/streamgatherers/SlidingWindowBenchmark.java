@@ -0,0 +1,73 @@
+package com.evolutionnext.streamgatherers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Gatherers;
+
+/**
+ * A moving average over {@code window} prices, computed from the copied windows of
+ * {@code Gatherers.windowSliding}, from the reused views of
+ * {@link SlidingWindowGatherer#windowViews} and with the O(1) {@link SlidingWindowGatherer#movingMean}.
+ * Run with {@code -prof gc} to see the allocation per element.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class SlidingWindowBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"10", "1000"})
+    public int window;
+
+    private Double[] prices;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(14);
+        prices = random.doubles(size, 90, 110).boxed().toArray(Double[]::new);
+    }
+
+    private static double average(List<Double> window) {
+        double sum = 0;
+        for (int i = 0; i < window.size(); i++) sum += window.get(i);
+        return sum / window.size();
+    }
+
+    @Benchmark
+    public void windowSlidingAverage(Blackhole blackhole) {
+        Arrays.stream(prices).gather(Gatherers.windowSliding(window))
+            .forEach(w -> blackhole.consume(average(w)));
+    }
+
+    @Benchmark
+    public void windowViewsAverage(Blackhole blackhole) {
+        Arrays.stream(prices).gather(SlidingWindowGatherer.<Double>windowViews(window))
+            .forEach(w -> blackhole.consume(average(w)));
+    }
+
+    @Benchmark
+    public void movingMean(Blackhole blackhole) {
+        Arrays.stream(prices).gather(SlidingWindowGatherer.movingMean(window, Double::doubleValue))
+            .forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,66 @@
+package com.evolutionnext.streamgatherers;
+
+import com.evolutionnext.unnamedvariables.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code k} largest order amounts per state from {@code size} orders, with
+ * {@link TopKGatherer#topKPerKey} against grouping every order with {@code GroupByGatherer}
+ * and sorting each group. Run with {@code -prof gc} to compare the memory held.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class TopKBenchmark {
+
+    private static final String[] STATES = {"CA", "NY", "TX", "FL", "WA", "IL", "OH", "GA"};
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"10"})
+    public int k;
+
+    private Order[] orders;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(17);
+        orders = new Order[size];
+        for (int i = 0; i < size; i++) orders[i] = new Order(STATES[random.nextInt(STATES.length)], random.nextInt(10, 201));
+    }
+
+    @Benchmark
+    public void topKPerKey(Blackhole blackhole) {
+        Arrays.stream(orders).parallel()
+            .gather(TopKGatherer.topKPerKey(k, Order::state, Comparator.comparingInt(Order::amount)))
+            .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void groupByAndSort(Blackhole blackhole) {
+        Arrays.stream(orders).parallel()
+            .gather(GroupByGatherer.GroupBy.groupBy(Order::state))
+            .map(e -> e.getValue().stream().sorted(Comparator.comparingInt(Order::amount).reversed()).limit(k).toList())
+            .forEach(blackhole::consume);
+    }
+}
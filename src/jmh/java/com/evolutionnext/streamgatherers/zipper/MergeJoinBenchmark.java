@@ -0,0 +1,114 @@
+package com.evolutionnext.streamgatherers.zipper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.evolutionnext.streamgatherers.zipper.Zippers.mergeJoin;
+import static com.evolutionnext.streamgatherers.zipper.Zippers.mergeJoinAll;
+
+/**
+ * Joins {@code rows} ledger entries against {@code rows} sorted payments, once with the
+ * streaming {@link MergeJoiner} and once with the usual {@code groupingBy} map plus lookup,
+ * then against payments and refunds at once with {@link MultiMergeJoiner} and with two maps.
+ * Run with {@code -prof gc} to compare the memory each approach holds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx8g"})
+public class MergeJoinBenchmark {
+
+    public record Entry(long account, int amount) {}
+
+    public record Payment(long account, int amount) {}
+
+    public record Refund(long account, int amount) {}
+
+    @Param({"1000000", "10000000"})
+    public int rows;
+
+    private Entry[] entries;
+    private Payment[] payments;
+    private Refund[] refunds;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        entries = IntStream.range(0, rows).mapToObj(i -> new Entry(i, random.nextInt(1000))).toArray(Entry[]::new);
+        payments = IntStream.range(0, rows)
+            .mapToObj(_ -> new Payment(random.nextLong(rows), random.nextInt(1000)))
+            .sorted((a, b) -> Long.compare(a.account(), b.account()))
+            .toArray(Payment[]::new);
+        refunds = IntStream.range(0, rows / 10)
+            .mapToObj(_ -> new Refund(random.nextLong(rows), random.nextInt(100)))
+            .sorted((a, b) -> Long.compare(a.account(), b.account()))
+            .toArray(Refund[]::new);
+    }
+
+    @Benchmark
+    public void streamingMergeJoin(Blackhole blackhole) {
+        Arrays.stream(entries)
+            .gather(mergeJoin(Arrays.stream(payments)).on(Entry::account, Payment::account)
+                .with(MergeJoiner.JoinType.LEFT, (e, p) -> p == null ? e.amount() : e.amount() - p.amount()))
+            .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void groupingByLookup(Blackhole blackhole) {
+        Map<Long, List<Payment>> byAccount = Arrays.stream(payments).collect(Collectors.groupingBy(Payment::account));
+        Arrays.stream(entries)
+            .flatMap(e -> {
+                List<Payment> matches = byAccount.get(e.account());
+                return matches == null
+                    ? Stream.of(e.amount())
+                    : matches.stream().map(p -> e.amount() - p.amount());
+            })
+            .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void streamingThreeWayMergeJoin(Blackhole blackhole) {
+        Arrays.stream(entries)
+            .gather(mergeJoinAll(Entry::account).and(Arrays.stream(payments), Payment::account).and(Arrays.stream(refunds), Refund::account)
+                .with(MergeJoiner.JoinType.LEFT, row -> net((Entry) row.get(0), (Payment) row.get(1), (Refund) row.get(2))))
+            .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void groupingByThreeWayLookup(Blackhole blackhole) {
+        Map<Long, List<Payment>> paymentsByAccount = Arrays.stream(payments).collect(Collectors.groupingBy(Payment::account));
+        Map<Long, List<Refund>> refundsByAccount = Arrays.stream(refunds).collect(Collectors.groupingBy(Refund::account));
+        List<Payment> noPayment = Collections.singletonList(null);
+        List<Refund> noRefund = Collections.singletonList(null);
+        Arrays.stream(entries)
+            .flatMap(e -> paymentsByAccount.getOrDefault(e.account(), noPayment).stream()
+                .flatMap(p -> refundsByAccount.getOrDefault(e.account(), noRefund).stream().map(r -> net(e, p, r))))
+            .forEach(blackhole::consume);
+    }
+
+    private static int net(Entry entry, Payment payment, Refund refund) {
+        return entry.amount() - (payment == null ? 0 : payment.amount()) + (refund == null ? 0 : refund.amount());
+    }
+}
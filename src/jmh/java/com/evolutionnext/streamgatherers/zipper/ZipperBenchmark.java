@@ -0,0 +1,93 @@
+package com.evolutionnext.streamgatherers.zipper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static com.evolutionnext.streamgatherers.zipper.Zippers.zip;
+
+/**
+ * Zips {@code size} strings against a boxed {@link java.util.stream.Stream} and against an
+ * {@link IntStream}, {@link LongStream} and {@code DoubleStream}. Run with {@code -prof gc} to see the
+ * per-element allocation rate; adding {@code -jvmArgsAppend -XX:-DoEscapeAnalysis} shows what is
+ * allocated when the integrator does not inline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ZipperBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private String[] left;
+
+    @Setup
+    public void setUp() {
+        left = IntStream.range(0, size).mapToObj(i -> "item" + i).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public void objToObjZipper(Blackhole blackhole) {
+        Arrays.stream(left)
+            .gather(zip(IntStream.range(0, size).boxed()).with((String s, Integer i) -> s.length() + i))
+            .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void objToIntZipper(Blackhole blackhole) {
+        Arrays.stream(left)
+            .gather(zip(IntStream.range(0, size)).with((String s, int i) -> s.length() + i))
+            .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void objToLongZipper(Blackhole blackhole) {
+        Arrays.stream(left)
+            .gather(zip(LongStream.range(0, size)).with((String s, long l) -> s.length() + l))
+            .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void objToDoubleZipper(Blackhole blackhole) {
+        Arrays.stream(left)
+            .gather(zip(IntStream.range(0, size).asDoubleStream()).with((String s, double d) -> s.length() + d))
+            .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void splitAwareZip(Blackhole blackhole) {
+        Zippers.zip(Arrays.stream(left), IntStream.range(0, size).boxed(), (String s, Integer i) -> s.length() + i)
+            .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void splitAwareZipParallel(Blackhole blackhole) {
+        Zippers.zip(Arrays.stream(left).parallel(), IntStream.range(0, size).boxed(), (String s, Integer i) -> s.length() + i)
+            .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void indexedBaseline(Blackhole blackhole) {
+        IntStream.range(0, size)
+            .mapToObj(i -> left[i].length() + i)
+            .forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,72 @@
+package com.evolutionnext.unnamedvariables;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Counting the red balls among {@code size} from a {@link BallMachine}: the stream
+ * sequentially and in parallel, and through {@code produce} with {@code producers} virtual
+ * threads, against allocating a new record for every ball. Run with {@code -prof gc} to see
+ * the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class BallMachineBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"4"})
+    public int producers;
+
+    private final BallMachine machine = BallMachine.weighted(25, 3, 2, 1);
+
+    @Benchmark
+    public long streamSequential() {
+        return machine.balls(size).filter(RedBall.class::isInstance).count();
+    }
+
+    @Benchmark
+    public long streamParallel() {
+        return machine.balls(size).parallel().filter(RedBall.class::isInstance).count();
+    }
+
+    @Benchmark
+    public long produced() {
+        try (Stream<Ball> balls = machine.produce(size, producers, 4096)) {
+            return balls.filter(RedBall.class::isInstance).count();
+        }
+    }
+
+    @Benchmark
+    public long newBallEachTime() {
+        SplittableRandom random = new SplittableRandom(25);
+        long reds = 0;
+        for (int i = 0; i < size; i++) {
+            Ball ball = switch (random.nextInt(6)) {
+                case 0, 1, 2 -> new RedBall("One made for dodge ball");
+                case 3, 4 -> new GreenBall(LocalDate.of(2023, 1, 1).plusDays(random.nextInt(365)));
+                default -> new BlueBall(random.nextLong(1024));
+            };
+            if (ball instanceof RedBall) reds++;
+        }
+        return reds;
+    }
+}
@@ -0,0 +1,80 @@
+package com.evolutionnext.unnamedvariables;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summing a value out of each of {@code size} randomly mixed balls with a pattern
+ * {@code switch} per ball, against partitioning them with {@link BallPartition} first and
+ * then running one loop per type, sequentially and in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class BallPartitionBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private Ball[] balls;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(24);
+        balls = new Ball[size];
+        for (int i = 0; i < size; i++) {
+            balls[i] = switch (random.nextInt(3)) {
+                case 0 -> new RedBall("red " + random.nextInt(100));
+                case 1 -> new GreenBall(LocalDate.EPOCH.plusDays(random.nextInt(20_000)));
+                default -> new BlueBall(random.nextLong(1_000));
+            };
+        }
+    }
+
+    @Benchmark
+    public long switchPerBall() {
+        long total = 0;
+        for (Ball ball : balls) {
+            total += switch (ball) {
+                case RedBall(String description) -> description.length();
+                case GreenBall(LocalDate created) -> created.toEpochDay();
+                case BlueBall(Long achievement) -> achievement;
+            };
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long partitioned() {
+        return sum(BallPartition.of(balls));
+    }
+
+    @Benchmark
+    public long partitionedParallel() {
+        return sum(BallPartition.ofParallel(balls));
+    }
+
+    private static long sum(BallPartition partition) {
+        long total = 0;
+        for (RedBall ball : partition.reds()) total += ball.description().length();
+        for (GreenBall ball : partition.greens()) total += ball.created().toEpochDay();
+        for (BlueBall ball : partition.blues()) total += ball.achievement();
+        return total;
+    }
+}
@@ -0,0 +1,69 @@
+package com.evolutionnext.unnamedvariables;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Per-state amount statistics over {@code size} orders: {@link OrderColumns} against
+ * {@code groupingBy} over the same orders as records, for all states and for one state.
+ * Each benchmark runs in parallel. Raise {@code size} to 100M with {@code -jvmArgsAppend -Xmx8g}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "--add-modules", "jdk.incubator.vector"})
+public class OrderColumnsBenchmark {
+
+    @Param({"10000000"})
+    public int size;
+
+    private Order[] orders;
+    private OrderColumns columns;
+
+    @Setup
+    public void setUp() {
+        OrderGenerator generator = OrderGenerator.zipf(21, 1.0);
+        orders = generator.orders(size).toArray(Order[]::new);
+        columns = OrderColumns.generate(generator, size);
+    }
+
+    @Benchmark
+    public Map<String, Integer> groupingBySummingInt() {
+        return Arrays.stream(orders).parallel()
+            .collect(Collectors.groupingBy(Order::state, Collectors.summingInt(Order::amount)));
+    }
+
+    @Benchmark
+    public Map<String, IntSummaryStatistics> columnsSummarizeByState() {
+        return columns.summarizeByState();
+    }
+
+    @Benchmark
+    public IntSummaryStatistics filterSummarizingInt() {
+        return Arrays.stream(orders).parallel()
+            .filter(order -> order.state().equals("CA"))
+            .collect(Collectors.summarizingInt(Order::amount));
+    }
+
+    @Benchmark
+    public IntSummaryStatistics columnsSummarizeOneState() {
+        return columns.summarize("CA");
+    }
+}
@@ -0,0 +1,57 @@
+package com.evolutionnext.unnamedvariables;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating and summing {@code size} orders with {@link OrderGenerator}, sequentially and in
+ * parallel, against filling a list from a shared {@code Random} the way
+ * {@code Order.createTwentyOrders} used to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class OrderGeneratorBenchmark {
+
+    @Param({"10000000"})
+    public int size;
+
+    private final OrderGenerator generator = OrderGenerator.zipf(20, 1.0);
+
+    @Benchmark
+    public long generatorSequential() {
+        return generator.orders(size).mapToLong(Order::amount).sum();
+    }
+
+    @Benchmark
+    public long generatorParallel() {
+        return generator.orders(size).parallel().mapToLong(Order::amount).sum();
+    }
+
+    @Benchmark
+    public long randomIntoList() {
+        Random random = new Random(20);
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            String state = Order.US_STATE_ABBREVIATIONS[random.nextInt(Order.US_STATE_ABBREVIATIONS.length)];
+            orders.add(new Order(state, random.nextInt((200 - 10) + 1) + 10));
+        }
+        return orders.stream().mapToLong(Order::amount).sum();
+    }
+}
@@ -0,0 +1,298 @@
+package com.evolutionnext.patternmatching;
+
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.List;
+import java.util.Locale;
+import java.util.MissingFormatArgumentException;
+
+/**
+ * A format string parsed once, for the plain {@code %d}, {@code %s} and {@code %f}
+ * conversions (plus {@code %%} and {@code %n}) that {@link PatternMatching} uses. Output
+ * matches {@code String.format} in the default format locale, including its localized
+ * digits and decimal separator, and {@code %f}'s half-up rounding of the shortest decimal
+ * form to six places. Arguments that the fast path does not cover, such as a
+ * {@code BigInteger} or a {@link Formattable}, are handed to {@code String.format}.
+ */
+public final class CompiledFormat {
+
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+        10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+        1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L
+    };
+
+    private static volatile Symbols symbols = Symbols.of(Locale.getDefault(Locale.Category.FORMAT));
+
+    private final String pattern;
+    private final String[] literals;
+    private final char[] conversions;
+
+    private CompiledFormat(String pattern, String[] literals, char[] conversions) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.conversions = conversions;
+    }
+
+    /**
+     * Parses {@code pattern}; flags, widths, precisions and argument indexes are rejected.
+     */
+    public static CompiledFormat compile(String pattern) {
+        List<String> literals = new ArrayList<>();
+        StringBuilder conversions = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            if (++i == pattern.length()) throw new IllegalArgumentException("Dangling % in " + pattern);
+            switch (pattern.charAt(i)) {
+                case '%' -> literal.append('%');
+                case 'n' -> literal.append(System.lineSeparator());
+                case 'd', 's', 'f' -> {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    conversions.append(pattern.charAt(i));
+                }
+                default -> throw new IllegalArgumentException(
+                    "Unsupported conversion %" + pattern.charAt(i) + " in " + pattern + "; use String.format");
+            }
+        }
+        literals.add(literal.toString());
+        return new CompiledFormat(pattern, literals.toArray(String[]::new), conversions.toString().toCharArray());
+    }
+
+    public String format(Object a0) {
+        return appendTo(new StringBuilder(), a0).toString();
+    }
+
+    public String format(Object a0, Object a1) {
+        return appendTo(new StringBuilder(), a0, a1).toString();
+    }
+
+    public String format(Object a0, Object a1, Object a2, Object a3) {
+        return appendTo(new StringBuilder(), a0, a1, a2, a3).toString();
+    }
+
+    public StringBuilder appendTo(StringBuilder builder, Object a0) {
+        return append(builder, 1, a0, null, null, null);
+    }
+
+    public StringBuilder appendTo(StringBuilder builder, Object a0, Object a1) {
+        return append(builder, 2, a0, a1, null, null);
+    }
+
+    public StringBuilder appendTo(StringBuilder builder, Object a0, Object a1, Object a2) {
+        return append(builder, 3, a0, a1, a2, null);
+    }
+
+    public StringBuilder appendTo(StringBuilder builder, Object a0, Object a1, Object a2, Object a3) {
+        return append(builder, 4, a0, a1, a2, a3);
+    }
+
+    /**
+     * For a pattern ending in two {@code %d}s, such as a record's name and its int
+     * components, without boxing the numbers.
+     */
+    public StringBuilder appendTo(StringBuilder builder, Object a0, Object a1, long a2, long a3) {
+        if (conversions.length != 4 || conversions[2] != 'd' || conversions[3] != 'd') {
+            return append(builder, 4, a0, a1, a2, a3);
+        }
+        Symbols current = symbols();
+        appendArgument(builder, 0, a0, current);
+        appendArgument(builder, 1, a1, current);
+        appendLong(builder.append(literals[2]), a2, current);
+        appendLong(builder.append(literals[3]), a3, current);
+        return builder.append(literals[4]);
+    }
+
+    public int arguments() {
+        return conversions.length;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    private StringBuilder append(StringBuilder builder, int given, Object a0, Object a1, Object a2, Object a3) {
+        if (given < conversions.length) {
+            throw new MissingFormatArgumentException("%" + conversions[given] + " in " + pattern);
+        }
+        Symbols current = symbols();
+        for (int i = 0; i < conversions.length; i++) {
+            appendArgument(builder, i, switch (i) {
+                case 0 -> a0;
+                case 1 -> a1;
+                case 2 -> a2;
+                default -> a3;
+            }, current);
+        }
+        return builder.append(literals[conversions.length]);
+    }
+
+    private void appendArgument(StringBuilder builder, int index, Object argument, Symbols symbols) {
+        builder.append(literals[index]);
+        switch (conversions[index]) {
+            case 'd' -> appendInteger(builder, argument, symbols);
+            case 'f' -> appendFixed(builder, argument, symbols);
+            default -> appendString(builder, argument, symbols);
+        }
+    }
+
+    private static void appendInteger(StringBuilder builder, Object argument, Symbols symbols) {
+        switch (argument) {
+            case Integer i -> appendLong(builder, i, symbols);
+            case Long l -> appendLong(builder, l, symbols);
+            case Short s -> appendLong(builder, s, symbols);
+            case Byte b -> appendLong(builder, b, symbols);
+            case null -> builder.append("null");
+            default -> builder.append(String.format(symbols.locale, "%d", argument));
+        }
+    }
+
+    private static void appendLong(StringBuilder builder, long value, Symbols symbols) {
+        int start = builder.length();
+        builder.append(value);
+        localize(builder, value < 0 ? start + 1 : start, symbols);
+    }
+
+    private static void appendString(StringBuilder builder, Object argument, Symbols symbols) {
+        switch (argument) {
+            case String s -> builder.append(s);
+            case Formattable _ -> builder.append(String.format(symbols.locale, "%s", argument));
+            case null -> builder.append("null");
+            default -> builder.append(argument.toString());
+        }
+    }
+
+    private static void appendFixed(StringBuilder builder, Object argument, Symbols symbols) {
+        switch (argument) {
+            case Double d -> appendFixed(builder, d.doubleValue(), symbols);
+            case Float f -> appendFixed(builder, f.doubleValue(), symbols);
+            case null -> builder.append("null");
+            default -> builder.append(String.format(symbols.locale, "%f", argument));
+        }
+    }
+
+    /**
+     * {@code %f}: the shortest decimal form of the value (what {@code Double.toString} and
+     * {@code Formatter} both start from), rounded half up to six places.
+     */
+    static void appendFixed(StringBuilder builder, double value, Symbols symbols) {
+        if (Double.isNaN(value)) {
+            builder.append("NaN");
+            return;
+        }
+        boolean negative = Double.compare(value, 0.0) < 0;
+        if (Double.isInfinite(value)) {
+            builder.append(negative ? "-Infinity" : "Infinity");
+            return;
+        }
+        long micros = roundedMicros(Math.abs(value));
+        if (micros < 0) {
+            appendShortestRounded(builder, Math.abs(value), negative, symbols);
+            return;
+        }
+        if (negative) builder.append('-');
+        int integerStart = builder.length();
+        builder.append(micros / 1_000_000).append(symbols.decimalSeparator);
+        long fraction = micros % 1_000_000;
+        for (long place = 100_000; place > fraction && place > 1; place /= 10) builder.append('0');
+        builder.append(fraction);
+        localize(builder, integerStart, symbols);
+    }
+
+    /**
+     * The magnitude times a million, rounded half up, or -1 if that could differ from
+     * rounding its shortest decimal form. The product is kept exactly as a double plus its
+     * {@code fma} error; the two roundings can only disagree when the shortest form and the
+     * exact value straddle a half, so anything within an ulp of one is left to
+     * {@link #appendShortestRounded}, as are magnitudes too large for the product to be exact.
+     */
+    private static long roundedMicros(double magnitude) {
+        if (!(magnitude < 1e9)) return -1;
+        double product = magnitude * 1e6;
+        double error = Math.fma(magnitude, 1e6, -product);
+        double whole = Math.floor(product);
+        double fraction = (product - whole) + error;
+        double margin = Math.ulp(magnitude) * 1e6 + 2 * Math.ulp(product);
+        if (Math.abs(fraction - 0.5) <= margin) return -1;
+        return (long) whole + (fraction > 0.5 ? 1 : 0);
+    }
+
+    /**
+     * The shortest form is written to the end of the builder, read back into a {@code long}
+     * of at most 17 significant digits and a power of ten, and replaced by the fixed-point
+     * form. Writing a {@code double} allocates a little, so this is only the fallback.
+     */
+    private static void appendShortestRounded(StringBuilder builder, double magnitude, boolean negative, Symbols symbols) {
+        int start = builder.length();
+        builder.append(magnitude);
+        long digits = 0;
+        int digitCount = 0;
+        int significant = 0;
+        int pointAt = -1;
+        int exponent = 0;
+        for (int i = start; i < builder.length(); i++) {
+            char c = builder.charAt(i);
+            if (c == '.') {
+                pointAt = digitCount;
+            } else if (c == 'E') {
+                exponent = Integer.parseInt(builder, i + 1, builder.length(), 10);
+                break;
+            } else {
+                digits = digits * 10 + (c - '0');
+                digitCount++;
+                if (digits != 0) significant++;
+            }
+        }
+        int scale = pointAt - digitCount + exponent + 6;
+        builder.setLength(start);
+        if (negative) builder.append('-');
+        int integerStart = builder.length();
+        if (scale >= 0) {
+            builder.append(digits);
+            for (int i = 0; i < scale; i++) builder.append('0');
+        } else if (-scale > significant) {
+            builder.append(0);
+        } else {
+            long divisor = POWERS_OF_TEN[-scale];
+            long remainder = digits % divisor;
+            builder.append(digits / divisor + (remainder >= divisor - remainder ? 1 : 0));
+        }
+        int length = builder.length() - integerStart;
+        if (length < 7) builder.insert(integerStart, "0000000", 0, 7 - length);
+        builder.insert(builder.length() - 6, symbols.decimalSeparator);
+        localize(builder, integerStart, symbols);
+    }
+
+    private static void localize(StringBuilder builder, int from, Symbols symbols) {
+        if (symbols.zero == '0') return;
+        for (int i = from; i < builder.length(); i++) {
+            char c = builder.charAt(i);
+            if (c >= '0' && c <= '9') builder.setCharAt(i, (char) (symbols.zero + (c - '0')));
+        }
+    }
+
+    static Symbols symbols() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        Symbols current = symbols;
+        if (current.locale != locale) symbols = current = Symbols.of(locale);
+        return current;
+    }
+
+    /**
+     * The zero digit and decimal separator {@code Formatter} uses for a locale, looked up
+     * again only when the default format locale changes.
+     */
+    record Symbols(Locale locale, char zero, char decimalSeparator) {
+        static Symbols of(Locale locale) {
+            DecimalFormatSymbols decimals = DecimalFormatSymbols.getInstance(locale);
+            return new Symbols(locale, decimals.getZeroDigit(), decimals.getDecimalSeparator());
+        }
+    }
+}
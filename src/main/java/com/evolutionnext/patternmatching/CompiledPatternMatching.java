@@ -0,0 +1,218 @@
+package com.evolutionnext.patternmatching;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link PatternMatching#formatterPatternSwitch}, {@link PatternMatching#matchRecordPatterns},
+ * {@link PatternMatching#matchRecordPatternsWhen} and
+ * {@link PatternMatching#matchRecordPatternsWithWinningRecords} rebuilt on a
+ * {@link PatternDispatcher} and {@link CompiledFormat}s, for the per-message formatting path.
+ * The results are the same strings; the format strings are parsed once, and the case for each
+ * class is found once.
+ * <p>
+ * The {@code formatTo} and {@code formatWinningRecordTo} methods write the same text
+ * straight into a caller's {@code StringBuilder}, {@code Appendable} or, as UTF-8,
+ * {@code ByteBuffer}, without building a {@code String} or a varargs array on the way. Only
+ * the default case still calls {@code toString()}.
+ */
+public final class CompiledPatternMatching {
+
+    private static final CompiledFormat INT = CompiledFormat.compile("int %d");
+    private static final CompiledFormat LONG = CompiledFormat.compile("long %d");
+    private static final CompiledFormat DOUBLE = CompiledFormat.compile("double %f");
+    private static final CompiledFormat STRING = CompiledFormat.compile("String %s");
+    private static final CompiledFormat TEAM_RECORD = CompiledFormat.compile("Team %s from %s with a record of (%d-%d)");
+    private static final CompiledFormat TEAM_FROM_M = CompiledFormat.compile("Team %s from %s, a city that starts with M");
+    private static final CompiledFormat TEAM = CompiledFormat.compile("Team %s from %s");
+    private static final CompiledFormat WINNING = CompiledFormat.compile("Team %s from %s has a winning record");
+    private static final CompiledFormat LOSING = CompiledFormat.compile("Team %s from %s has a losing record");
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    static final PatternDispatcher<StringBuilder, StringBuilder> FORMATTER = scalars(PatternDispatcher.builder());
+
+    static final PatternDispatcher<StringBuilder, StringBuilder> RECORD_PATTERNS = scalars(
+        PatternDispatcher.<StringBuilder, StringBuilder>builder()
+            .match(Team.class, (team, builder) -> TEAM_RECORD.appendTo(builder, team.name(), team.city(), team.wins(), team.losses())));
+
+    static final PatternDispatcher<StringBuilder, StringBuilder> RECORD_PATTERNS_WHEN = scalars(
+        PatternDispatcher.<StringBuilder, StringBuilder>builder()
+            .match(Team.class, team -> team.city().startsWith("M"), (team, builder) -> TEAM_FROM_M.appendTo(builder, team.name(), team.city()))
+            .match(Team.class, (team, builder) -> TEAM.appendTo(builder, team.name(), team.city())));
+
+    static final PatternDispatcher<StringBuilder, StringBuilder> WINNING_RECORDS =
+        PatternDispatcher.<StringBuilder, StringBuilder>builder()
+            .match(Team.class, team -> team.wins() > team.losses(), (team, builder) -> WINNING.appendTo(builder, team.name(), team.city()))
+            .match(Team.class, (team, builder) -> LOSING.appendTo(builder, team.name(), team.city()))
+            .build();
+
+    private CompiledPatternMatching() {
+    }
+
+    public static String formatterPatternSwitch(Object obj) {
+        return FORMATTER.apply(obj, new StringBuilder()).toString();
+    }
+
+    public static String matchRecordPatterns(Object object) {
+        return RECORD_PATTERNS.apply(object, new StringBuilder()).toString();
+    }
+
+    public static String matchRecordPatternsWhen(Object object) {
+        return RECORD_PATTERNS_WHEN.apply(object, new StringBuilder()).toString();
+    }
+
+    public static String matchRecordPatternsWithWinningRecords(Team team) {
+        return WINNING_RECORDS.apply(team, new StringBuilder()).toString();
+    }
+
+    /**
+     * Appends what {@link PatternMatching#formatterPatternSwitch} returns.
+     */
+    public static StringBuilder formatTo(Object obj, StringBuilder builder) {
+        return FORMATTER.apply(obj, builder);
+    }
+
+    public static <A extends Appendable> A formatTo(Object obj, A appendable) throws IOException {
+        return writeTo(FORMATTER, obj, appendable);
+    }
+
+    /**
+     * Writes what {@link PatternMatching#formatterPatternSwitch} returns as UTF-8 at the
+     * buffer's position and returns the number of bytes written. If it does not fit, throws
+     * {@link BufferOverflowException} and leaves the buffer untouched.
+     */
+    public static int formatTo(Object obj, ByteBuffer buffer) {
+        return writeTo(FORMATTER, obj, buffer);
+    }
+
+    /**
+     * Appends what {@link PatternMatching#matchRecordPatternsWithWinningRecords} returns.
+     */
+    public static StringBuilder formatWinningRecordTo(Team team, StringBuilder builder) {
+        return WINNING_RECORDS.apply(team, builder);
+    }
+
+    public static <A extends Appendable> A formatWinningRecordTo(Team team, A appendable) throws IOException {
+        return writeTo(WINNING_RECORDS, team, appendable);
+    }
+
+    public static int formatWinningRecordTo(Team team, ByteBuffer buffer) {
+        return writeTo(WINNING_RECORDS, team, buffer);
+    }
+
+    /**
+     * Formats into a per-thread scratch builder, then copies it out. A {@code Writer} is
+     * given the characters as an array, since its {@code append(CharSequence)} makes a String.
+     * <p>
+     * Each thread keeps one scratch builder and array, so a virtual thread allocates its own on
+     * first use and drops them when it ends; writers on many short-lived virtual threads should
+     * format into a {@code StringBuilder} they keep, which is used directly.
+     */
+    private static <A extends Appendable> A writeTo(PatternDispatcher<StringBuilder, StringBuilder> dispatcher, Object value,
+                                                    A appendable) throws IOException {
+        if (appendable instanceof StringBuilder builder) {
+            dispatcher.apply(value, builder);
+            return appendable;
+        }
+        Scratch scratch = Scratch.acquire();
+        try {
+            StringBuilder text = dispatcher.apply(value, scratch.builder);
+            if (appendable instanceof Writer writer) {
+                char[] chars = scratch.chars(text.length());
+                text.getChars(0, text.length(), chars, 0);
+                writer.write(chars, 0, text.length());
+            } else {
+                appendable.append(text);
+            }
+            return appendable;
+        } finally {
+            scratch.release();
+        }
+    }
+
+    private static int writeTo(PatternDispatcher<StringBuilder, StringBuilder> dispatcher, Object value, ByteBuffer buffer) {
+        Scratch scratch = Scratch.acquire();
+        try {
+            return encode(dispatcher.apply(value, scratch.builder), buffer);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    private static int encode(StringBuilder text, ByteBuffer buffer) {
+        int length = text.length();
+        int bytes = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        if (bytes > buffer.remaining()) throw new BufferOverflowException();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer.put((byte) (0xF0 | codePoint >> 18))
+                    .put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                    .put((byte) (0x80 | codePoint >> 6 & 0x3F))
+                    .put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * A thread's scratch builder and array. While one is in use, for instance because the
+     * default case's {@code toString()} itself calls {@code formatTo}, the nested call gets a
+     * fresh one instead of resetting the builder mid-write.
+     */
+    private static final class Scratch {
+        private final StringBuilder builder = new StringBuilder(256);
+        private char[] chars = new char[256];
+        private boolean inUse;
+
+        static Scratch acquire() {
+            Scratch scratch = SCRATCH.get();
+            if (scratch.inUse) return new Scratch();
+            scratch.inUse = true;
+            scratch.builder.setLength(0);
+            return scratch;
+        }
+
+        void release() {
+            inUse = false;
+        }
+
+        char[] chars(int length) {
+            if (chars.length < length) chars = new char[Math.max(length, chars.length * 2)];
+            return chars;
+        }
+    }
+
+    private static PatternDispatcher<StringBuilder, StringBuilder> scalars(PatternDispatcher.Builder<StringBuilder, StringBuilder> cases) {
+        return cases
+            .match(Integer.class, (i, builder) -> INT.appendTo(builder, i))
+            .match(Long.class, (l, builder) -> LONG.appendTo(builder, l))
+            .match(Double.class, (d, builder) -> DOUBLE.appendTo(builder, d))
+            .match(String.class, (s, builder) -> STRING.appendTo(builder, s))
+            .otherwise((object, builder) -> builder.append(object.toString()));
+    }
+}
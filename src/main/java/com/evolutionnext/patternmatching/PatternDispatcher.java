@@ -0,0 +1,98 @@
+package com.evolutionnext.patternmatching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * A type switch declared as data. Cases are tried in declaration order like the cases of a
+ * pattern {@code switch}, but the cases that can apply to a class are worked out once per
+ * class and cached in a {@link ClassValue}: dispatching an object is one lookup on its class
+ * followed by that class's guards, instead of an {@code instanceof} test for every case
+ * above the one that matches.
+ * <p>
+ * Each case gets the matched value and a context, typically the builder it appends to.
+ * Like a {@code switch} without {@code case null}, a {@code null} value throws
+ * {@link NullPointerException}.
+ */
+public final class PatternDispatcher<C, R> {
+
+    @FunctionalInterface
+    public interface Action<T, C, R> {
+        R apply(T value, C context);
+    }
+
+    private record Case<T, C, R>(Class<T> type, Predicate<? super T> guard, Action<? super T, C, R> action) {
+        boolean guarded() {
+            return guard != null;
+        }
+    }
+
+    private final List<Case<?, C, R>> cases;
+    private final ClassValue<Case<?, C, R>[]> table = new ClassValue<>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Case<?, C, R>[] computeValue(Class<?> type) {
+            List<Case<?, C, R>> applicable = new ArrayList<>();
+            for (Case<?, C, R> candidate : cases) {
+                if (!candidate.type().isAssignableFrom(type)) continue;
+                applicable.add(candidate);
+                if (!candidate.guarded()) break;
+            }
+            return applicable.toArray(Case[]::new);
+        }
+    };
+
+    private PatternDispatcher(List<Case<?, C, R>> cases) {
+        this.cases = cases;
+    }
+
+    public static <C, R> Builder<C, R> builder() {
+        return new Builder<>();
+    }
+
+    @SuppressWarnings("unchecked")
+    public R apply(Object value, C context) {
+        for (Case<?, C, R> candidate : table.get(value.getClass())) {
+            Case<Object, C, R> matched = (Case<Object, C, R>) candidate;
+            if (matched.guard() == null || matched.guard().test(value)) return matched.action().apply(value, context);
+        }
+        throw new MatchException("No case for " + value.getClass().getName(), null);
+    }
+
+    public static final class Builder<C, R> {
+        private final List<Case<?, C, R>> cases = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public <T> Builder<C, R> match(Class<T> type, Action<? super T, C, R> action) {
+            cases.add(new Case<>(Objects.requireNonNull(type), null, Objects.requireNonNull(action)));
+            return this;
+        }
+
+        /**
+         * A case that only applies when {@code guard} holds, like {@code case T t when ...}.
+         */
+        public <T> Builder<C, R> match(Class<T> type, Predicate<? super T> guard, Action<? super T, C, R> action) {
+            cases.add(new Case<>(Objects.requireNonNull(type), Objects.requireNonNull(guard), Objects.requireNonNull(action)));
+            return this;
+        }
+
+        /**
+         * The {@code default} case: matches any object no earlier case took.
+         */
+        public PatternDispatcher<C, R> otherwise(Action<Object, C, R> action) {
+            match(Object.class, action);
+            return new PatternDispatcher<>(List.copyOf(cases));
+        }
+
+        /**
+         * Builds without a default case; an object no case matches throws {@link MatchException}.
+         */
+        public PatternDispatcher<C, R> build() {
+            return new PatternDispatcher<>(List.copyOf(cases));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.evolutionnext.streamgatherers;
+
+/**
+ * A Bloom filter sized for {@code expectedInsertions} elements at a false-positive rate of
+ * {@code falsePositiveRate}: {@code m = -n ln(p) / ln(2)^2} bits probed {@code k = m/n ln(2)}
+ * times with double hashing. It never forgets an element it was given, but may claim one it
+ * was not. Filters of the same shape can be merged.
+ */
+public final class BloomFilter<T> {
+
+    private final long[] bits;
+    private final long size;
+    private final int hashes;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1) throw new IllegalArgumentException("expectedInsertions must be positive: " + expectedInsertions);
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1): " + falsePositiveRate);
+        }
+        long bitCount = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) Math.min((bitCount + 63) >>> 6, Integer.MAX_VALUE - 8)];
+        this.size = (long) bits.length << 6;
+        this.hashes = Math.max(1, (int) Math.round((double) size / expectedInsertions * Math.log(2)));
+    }
+
+    public boolean mightContain(T element) {
+        long hash = SketchHashing.hash(element);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, size);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Adds the element, returning {@code false} if it (or a false positive) was already there.
+     */
+    public boolean put(T element) {
+        long hash = SketchHashing.hash(element);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, size);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    public long bitSize() {
+        return size;
+    }
+
+    public int hashCount() {
+        return hashes;
+    }
+
+    public BloomFilter<T> merge(BloomFilter<T> other) {
+        if (other.size != size || other.hashes != hashes) {
+            throw new IllegalArgumentException("Cannot merge a %d-bit, %d-hash filter into a %d-bit, %d-hash one"
+                .formatted(other.size, other.hashes, size, hashes));
+        }
+        for (int i = 0; i < bits.length; i++) bits[i] |= other.bits[i];
+        return this;
+    }
+}
@@ -0,0 +1,95 @@
+package com.evolutionnext.streamgatherers;
+
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Gatherer;
+
+/**
+ * Bundles a stream into fixed-size chunks backed by primitive arrays.
+ * Each chunk owns its array, so emitting it needs no copy and the buffer is
+ * never cleared; the last chunk may be shorter than the requested size.
+ * The mapper overloads read a primitive straight off each element, e.g.
+ * {@code orders.gather(Chunkers.ints(1024, Order::amount))}.
+ */
+public class Chunkers {
+
+    private Chunkers() {
+    }
+
+    public static Gatherer<Integer, ?, IntChunk> ints(int size) {
+        return ints(size, Integer::intValue);
+    }
+
+    public static Gatherer<Long, ?, LongChunk> longs(int size) {
+        return longs(size, Long::longValue);
+    }
+
+    public static Gatherer<Double, ?, DoubleChunk> doubles(int size) {
+        return doubles(size, Double::doubleValue);
+    }
+
+    public static <T> Gatherer<T, ?, IntChunk> ints(int size, ToIntFunction<? super T> mapper) {
+        checkSize(size);
+        class State {
+            int[] buffer = new int[size];
+            int count;
+        }
+        return Gatherer.ofSequential(State::new,
+            Gatherer.Integrator.ofGreedy((state, element, downstream) -> {
+                state.buffer[state.count++] = mapper.applyAsInt(element);
+                if (state.count < size) return true;
+                IntChunk chunk = new IntChunk(state.buffer, size);
+                state.buffer = new int[size];
+                state.count = 0;
+                return downstream.push(chunk);
+            }),
+            (state, downstream) -> {
+                if (state.count > 0) downstream.push(new IntChunk(state.buffer, state.count));
+            });
+    }
+
+    public static <T> Gatherer<T, ?, LongChunk> longs(int size, ToLongFunction<? super T> mapper) {
+        checkSize(size);
+        class State {
+            long[] buffer = new long[size];
+            int count;
+        }
+        return Gatherer.ofSequential(State::new,
+            Gatherer.Integrator.ofGreedy((state, element, downstream) -> {
+                state.buffer[state.count++] = mapper.applyAsLong(element);
+                if (state.count < size) return true;
+                LongChunk chunk = new LongChunk(state.buffer, size);
+                state.buffer = new long[size];
+                state.count = 0;
+                return downstream.push(chunk);
+            }),
+            (state, downstream) -> {
+                if (state.count > 0) downstream.push(new LongChunk(state.buffer, state.count));
+            });
+    }
+
+    public static <T> Gatherer<T, ?, DoubleChunk> doubles(int size, ToDoubleFunction<? super T> mapper) {
+        checkSize(size);
+        class State {
+            double[] buffer = new double[size];
+            int count;
+        }
+        return Gatherer.ofSequential(State::new,
+            Gatherer.Integrator.ofGreedy((state, element, downstream) -> {
+                state.buffer[state.count++] = mapper.applyAsDouble(element);
+                if (state.count < size) return true;
+                DoubleChunk chunk = new DoubleChunk(state.buffer, size);
+                state.buffer = new double[size];
+                state.count = 0;
+                return downstream.push(chunk);
+            }),
+            (state, downstream) -> {
+                if (state.count > 0) downstream.push(new DoubleChunk(state.buffer, state.count));
+            });
+    }
+
+    private static void checkSize(int size) {
+        if (size < 1) throw new IllegalArgumentException("Chunk size must be positive: " + size);
+    }
+}
@@ -0,0 +1,248 @@
+package com.evolutionnext.streamgatherers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Gatherer;
+
+/**
+ * A {@code Gatherers.mapConcurrent} that runs each element on a virtual thread and reports
+ * every element as an {@link Outcome}, so one failure or timeout does not abort the stream.
+ * The ordered mode emits in encounter order like the JDK gatherer; the unordered mode emits
+ * results as they complete, so a slow element only delays itself. At most
+ * {@code maxConcurrency} elements are outstanding, counting results not yet emitted, and at
+ * most {@code maxConcurrency} mappers run at once: a timed-out element is emitted right away,
+ * but its slot is only handed on once its mapper has actually returned.
+ */
+public record ConcurrentMapper<T, R>(int maxConcurrency,
+                                     boolean ordered,
+                                     Duration timeout,
+                                     Metrics metrics,
+                                     Function<? super T, ? extends R> mapper)
+    implements Gatherer<T, ConcurrentMapper.State<T, R>, ConcurrentMapper.Outcome<T, R>> {
+
+    public ConcurrentMapper {
+        if (maxConcurrency < 1) throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("timeout must be positive: " + timeout);
+        }
+    }
+
+    public static <T, R> ConcurrentMapper<T, R> mapConcurrent(int maxConcurrency, Function<? super T, ? extends R> mapper) {
+        return new ConcurrentMapper<>(maxConcurrency, true, null, new Metrics(), mapper);
+    }
+
+    public static <T, R> ConcurrentMapper<T, R> mapConcurrentUnordered(int maxConcurrency, Function<? super T, ? extends R> mapper) {
+        return new ConcurrentMapper<>(maxConcurrency, false, null, new Metrics(), mapper);
+    }
+
+    public ConcurrentMapper<T, R> withTimeout(Duration timeout) {
+        return new ConcurrentMapper<>(maxConcurrency, ordered, timeout, metrics, mapper);
+    }
+
+    public ConcurrentMapper<T, R> withMetrics(Metrics metrics) {
+        return new ConcurrentMapper<>(maxConcurrency, ordered, timeout, metrics, mapper);
+    }
+
+    public sealed interface Outcome<T, R> {
+        T input();
+    }
+
+    public record Success<T, R>(T input, R value) implements Outcome<T, R> {}
+
+    /**
+     * A mapper that threw, or ran past the timeout, in which case {@code error} is a
+     * {@link TimeoutException} and the element's thread has been interrupted.
+     */
+    public record Failure<T, R>(T input, Throwable error) implements Outcome<T, R> {}
+
+    /**
+     * Live gauges and totals. {@code inFlight} counts mappers still running, including ones
+     * that timed out but have not yet returned; {@code queued} counts finished results waiting
+     * to be emitted, which in ordered mode is the work held back by a slow head element.
+     * <p>
+     * A gatherer keeps the same {@code Metrics} for every stream it is used in, so the totals
+     * are cumulative across evaluations and the gauges add up concurrent ones. Give each
+     * evaluation its own with {@link #withMetrics} to observe it alone.
+     */
+    public static final class Metrics {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        public int inFlight() {
+            return inFlight.get();
+        }
+
+        public int queued() {
+            return queued.get();
+        }
+
+        public long succeeded() {
+            return succeeded.sum();
+        }
+
+        public long failed() {
+            return failed.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "Metrics[inFlight=%d, queued=%d, succeeded=%d, failed=%d]"
+                .formatted(inFlight(), queued(), succeeded(), failed());
+        }
+    }
+
+    static final class State<T, R> {
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private final Semaphore running;
+        private final ArrayDeque<CompletableFuture<Outcome<T, R>>> pending = new ArrayDeque<>();
+        private final LinkedBlockingQueue<Outcome<T, R>> completed = new LinkedBlockingQueue<>();
+        private int outstanding;
+
+        State(int maxConcurrency) {
+            this.running = new Semaphore(maxConcurrency);
+        }
+    }
+
+    @Override
+    public Supplier<State<T, R>> initializer() {
+        return () -> new State<>(maxConcurrency);
+    }
+
+    @Override
+    public Integrator<State<T, R>, T, Outcome<T, R>> integrator() {
+        return Integrator.ofGreedy((state, element, downstream) -> {
+            while (state.outstanding >= maxConcurrency) {
+                if (!downstream.push(awaitNext(state))) return false;
+            }
+            acquireSlot(state);
+            submit(state, element);
+            Outcome<T, R> ready;
+            while ((ready = pollReady(state)) != null) {
+                if (!downstream.push(ready)) return false;
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public BiConsumer<State<T, R>, Downstream<? super Outcome<T, R>>> finisher() {
+        return (state, downstream) -> {
+            try {
+                while (state.outstanding > 0 && !downstream.isRejecting()) {
+                    if (!downstream.push(awaitNext(state))) return;
+                }
+            } finally {
+                state.executor.shutdownNow();
+            }
+        };
+    }
+
+    /**
+     * Waits for a running mapper to return when every slot is taken, which can happen with
+     * fewer than {@code maxConcurrency} outstanding elements if timed-out mappers ignore the
+     * interrupt.
+     */
+    private static void acquireSlot(State<?, ?> state) {
+        try {
+            state.running.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state.executor.shutdownNow();
+            throw new IllegalStateException("Interrupted while waiting for a mapper to finish", e);
+        }
+    }
+
+    /**
+     * The worker gives its slot back when the mapper returns, not when the outcome is decided,
+     * so a timeout frees the element but not the slot.
+     */
+    private void submit(State<T, R> state, T element) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        metrics.inFlight.incrementAndGet();
+        state.executor.execute(() -> {
+            worker.set(Thread.currentThread());
+            try {
+                R value;
+                try {
+                    value = result.isDone() ? null : mapper.apply(element);
+                } finally {
+                    // Counted out before the outcome is published, so a drained stream reports none in flight
+                    metrics.inFlight.decrementAndGet();
+                    state.running.release();
+                }
+                result.complete(value);
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        if (timeout != null) result.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        CompletableFuture<Outcome<T, R>> outcome = result.handle((value, error) -> {
+            metrics.queued.incrementAndGet();
+            if (error == null) {
+                metrics.succeeded.increment();
+                return new Success<>(element, value);
+            }
+            metrics.failed.increment();
+            if (error instanceof TimeoutException && worker.get() != null) worker.get().interrupt();
+            return new Failure<>(element, error instanceof CompletionException ? error.getCause() : error);
+        });
+        state.outstanding++;
+        if (ordered) {
+            state.pending.addLast(outcome);
+        } else {
+            outcome.thenAccept(state.completed::add);
+        }
+    }
+
+    private Outcome<T, R> pollReady(State<T, R> state) {
+        Outcome<T, R> ready;
+        if (ordered) {
+            CompletableFuture<Outcome<T, R>> head = state.pending.peekFirst();
+            if (head == null || !head.isDone()) return null;
+            ready = state.pending.removeFirst().join();
+        } else {
+            ready = state.completed.poll();
+            if (ready == null) return null;
+        }
+        emitted(state);
+        return ready;
+    }
+
+    private Outcome<T, R> awaitNext(State<T, R> state) {
+        try {
+            Outcome<T, R> next = ordered ? state.pending.removeFirst().get() : state.completed.take();
+            emitted(state);
+            return next;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state.executor.shutdownNow();
+            throw new IllegalStateException("Interrupted while waiting for a mapped element", e);
+        } catch (ExecutionException e) {
+            // The outcome future handles every failure, so this would be a bug in the mapper plumbing
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void emitted(State<T, R> state) {
+        state.outstanding--;
+        metrics.queued.decrementAndGet();
+    }
+}
@@ -0,0 +1,71 @@
+package com.evolutionnext.streamgatherers;
+
+/**
+ * A Count-Min sketch: {@code depth} rows of {@code width} counters, where each element
+ * increments one counter per row and its estimate is the smallest of those counters.
+ * Estimates never undercount; with {@code width = ceil(e / epsilon)} and
+ * {@code depth = ceil(ln(1 / delta))} they overcount by more than {@code epsilon * total()}
+ * with probability at most {@code delta}. Sketches of the same shape can be merged.
+ */
+public final class CountMinSketch<T> {
+
+    private final int width;
+    private final int depth;
+    private final long[] counters;
+    private long total;
+
+    public CountMinSketch(double epsilon, double delta) {
+        if (!(epsilon > 0 && epsilon < 1)) throw new IllegalArgumentException("epsilon must be in (0, 1): " + epsilon);
+        if (!(delta > 0 && delta < 1)) throw new IllegalArgumentException("delta must be in (0, 1): " + delta);
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.depth = (int) Math.ceil(Math.log(1 / delta));
+        this.counters = new long[width * depth];
+    }
+
+    public void add(T element) {
+        add(element, 1);
+    }
+
+    public void add(T element, long count) {
+        long hash = SketchHashing.hash(element);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < depth; row++) {
+            counters[row * width + Math.floorMod(h1 + row * h2, width)] += count;
+        }
+        total += count;
+    }
+
+    public long estimate(T element) {
+        long hash = SketchHashing.hash(element);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row * width + Math.floorMod(h1 + row * h2, width)]);
+        }
+        return estimate;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public CountMinSketch<T> merge(CountMinSketch<T> other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Cannot merge a %dx%d sketch into a %dx%d one"
+                .formatted(other.depth, other.width, depth, width));
+        }
+        for (int i = 0; i < counters.length; i++) counters[i] += other.counters[i];
+        total += other.total;
+        return this;
+    }
+}
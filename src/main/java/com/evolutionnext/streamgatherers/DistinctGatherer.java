@@ -0,0 +1,162 @@
+package com.evolutionnext.streamgatherers;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Gatherer;
+
+/**
+ * Drops elements whose key has already been seen, keeping the first. The exact gatherers
+ * remember every key; the windowed ones only the most recent keys or those seen within a
+ * time window, and the Bloom filter one a fixed number of bits, so their memory stays bounded
+ * on a stream that never ends. Every gatherer except {@link #distinctByCombining} emits as
+ * soon as an element arrives, which makes them sequential: a later split cannot take back
+ * what an earlier one has already pushed.
+ */
+public final class DistinctGatherer {
+
+    private DistinctGatherer() {
+    }
+
+    public static <T, K> Gatherer<T, ?, T> distinctBy(Function<? super T, ? extends K> keyFunction) {
+        return Gatherer.<T, HashSet<K>, T>ofSequential(
+            HashSet::new,
+            Gatherer.Integrator.ofGreedy((seen, element, downstream) ->
+                !seen.add(keyFunction.apply(element)) || downstream.push(element)));
+    }
+
+    /**
+     * Like {@link #distinctBy} for a {@code long} key, held in an open-addressing
+     * {@code long[]} table instead of a set of boxed keys.
+     */
+    public static <T> Gatherer<T, ?, T> distinctByLong(ToLongFunction<? super T> keyFunction) {
+        return Gatherer.<T, LongHashSet, T>ofSequential(
+            LongHashSet::new,
+            Gatherer.Integrator.ofGreedy((seen, element, downstream) ->
+                !seen.add(keyFunction.applyAsLong(element)) || downstream.push(element)));
+    }
+
+    /**
+     * The exact dedup for parallel streams. Each split keeps the first element of every key
+     * it sees, splits are merged in encounter order, and the survivors are emitted when the
+     * stream ends, so the stream must be finite.
+     */
+    public static <T, K> Gatherer<T, ?, T> distinctByCombining(Function<? super T, ? extends K> keyFunction) {
+        return Gatherer.<T, LinkedHashMap<K, T>, T>of(
+            LinkedHashMap::new,
+            Gatherer.Integrator.ofGreedy((firsts, element, _) -> {
+                firsts.putIfAbsent(keyFunction.apply(element), element);
+                return true;
+            }),
+            (left, right) -> {
+                right.forEach(left::putIfAbsent);
+                return left;
+            },
+            (firsts, downstream) -> {
+                for (T element : firsts.values()) {
+                    if (!downstream.push(element)) return;
+                }
+            });
+    }
+
+    /**
+     * Drops an element if its key is among the {@code maxKeys} most recently seen keys. A
+     * dropped duplicate counts as seeing its key again.
+     */
+    public static <T, K> Gatherer<T, ?, T> distinctByRecent(Function<? super T, ? extends K> keyFunction, int maxKeys) {
+        if (maxKeys < 1) throw new IllegalArgumentException("maxKeys must be positive: " + maxKeys);
+        return Gatherer.<T, LinkedHashMap<K, Boolean>, T>ofSequential(
+            () -> new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Boolean> eldest) {
+                    return size() > maxKeys;
+                }
+            },
+            Gatherer.Integrator.ofGreedy((recent, element, downstream) ->
+                recent.put(keyFunction.apply(element), Boolean.TRUE) != null || downstream.push(element)));
+    }
+
+    /**
+     * Drops an element if its key was seen less than {@code window} ago. A dropped duplicate
+     * counts as seeing its key again, so a key that keeps arriving stays suppressed.
+     */
+    public static <T, K> Gatherer<T, ?, T> distinctByWithin(Function<? super T, ? extends K> keyFunction, Duration window) {
+        return distinctByWithin(keyFunction, window, System::nanoTime);
+    }
+
+    static <T, K> Gatherer<T, ?, T> distinctByWithin(Function<? super T, ? extends K> keyFunction, Duration window,
+                                                     LongSupplier nanoClock) {
+        if (window.isNegative() || window.isZero()) throw new IllegalArgumentException("window must be positive: " + window);
+        long windowNanos = window.toNanos();
+        return Gatherer.<T, LinkedHashMap<K, Long>, T>ofSequential(
+            () -> new LinkedHashMap<>(16, 0.75f, true),
+            Gatherer.Integrator.ofGreedy((lastSeen, element, downstream) -> {
+                long now = nanoClock.getAsLong();
+                Iterator<Long> oldest = lastSeen.values().iterator();
+                while (oldest.hasNext() && now - oldest.next() >= windowNanos) oldest.remove();
+                return lastSeen.put(keyFunction.apply(element), now) != null || downstream.push(element);
+            }));
+    }
+
+    /**
+     * Dedup in a fixed {@link BloomFilter}. Duplicates are always dropped; a new key is also
+     * dropped with probability about {@code falsePositiveRate} while fewer than
+     * {@code expectedInsertions} keys have been seen, and more often after that.
+     */
+    public static <T, K> Gatherer<T, ?, T> distinctByApproximate(Function<? super T, ? extends K> keyFunction,
+                                                                 long expectedInsertions, double falsePositiveRate) {
+        return Gatherer.<T, BloomFilter<K>, T>ofSequential(
+            () -> new BloomFilter<>(expectedInsertions, falsePositiveRate),
+            Gatherer.Integrator.ofGreedy((seen, element, downstream) ->
+                !seen.put(keyFunction.apply(element)) || downstream.push(element)));
+    }
+
+    /**
+     * An open-addressing set of {@code long}s with linear probing, kept at most half full.
+     * Zero marks an empty slot, so the key zero is tracked by a flag.
+     */
+    private static final class LongHashSet {
+        private long[] table = new long[64];
+        private int size;
+        private boolean containsZero;
+
+        boolean add(long key) {
+            if (key == 0) {
+                if (containsZero) return false;
+                containsZero = true;
+                return true;
+            }
+            int mask = table.length - 1;
+            int slot = spread(key) & mask;
+            while (table[slot] != 0) {
+                if (table[slot] == key) return false;
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = key;
+            if (++size * 2 > table.length) grow();
+            return true;
+        }
+
+        private void grow() {
+            long[] old = table;
+            table = new long[old.length * 2];
+            int mask = table.length - 1;
+            for (long key : old) {
+                if (key == 0) continue;
+                int slot = spread(key) & mask;
+                while (table[slot] != 0) slot = (slot + 1) & mask;
+                table[slot] = key;
+            }
+        }
+
+        private static int spread(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.evolutionnext.streamgatherers;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.stream.DoubleStream;
+
+/**
+ * An immutable, fixed-length view over a double[] emitted by {@link Chunkers}.
+ * Values are kept unboxed; {@link #get(int)} only boxes when the chunk is used as a {@code List}.
+ */
+public final class DoubleChunk extends AbstractList<Double> implements RandomAccess {
+
+    private final double[] values;
+    private final int length;
+
+    DoubleChunk(double[] values, int length) {
+        this.values = values;
+        this.length = length;
+    }
+
+    public double getDouble(int index) {
+        Objects.checkIndex(index, length);
+        return values[index];
+    }
+
+    @Override
+    public Double get(int index) {
+        return getDouble(index);
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    public DoubleStream doubleStream() {
+        return Arrays.stream(values, 0, length);
+    }
+
+    public double[] toDoubleArray() {
+        return Arrays.copyOf(values, length);
+    }
+
+    public double sum() {
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,277 @@
+package com.evolutionnext.streamgatherers;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Gatherer;
+import java.util.stream.Stream;
+
+/**
+ * Builds a chain of map, filter, flatMap, scan and fold stages that runs as a single
+ * gatherer. Chaining the equivalent gatherers with {@code andThen} wraps every stage in its
+ * own integrator and {@code Downstream}; here the whole chain shares one state and one
+ * integrator. Consecutive map and filter stages are composed into one step function, so a
+ * chain of only those stages is a single integrator that applies it and pushes the result.
+ * Each flatMap, mapMulti, scan and fold stage stays a small node that calls the next one
+ * directly. A chain of only stateless stages can also run on a parallel stream.
+ * <p>
+ * This is not free of megamorphic calls: the node-to-node calls, and the calls a composed
+ * step makes to each mapper and predicate, still go through an interface and see every chain
+ * shape in use. Fusion removes the per-stage integrators and {@code Downstream} wrappers and
+ * the dispatch between map and filter stages, not dispatch as such.
+ */
+public final class FusedGatherer<T, R> {
+
+    /**
+     * Returned by a step when its filter drops the element.
+     */
+    private static final Object SKIP = new Object();
+
+    private final List<Function<Node, Node>> stages;
+    private final Function<Object, Object> step;
+    private final boolean stateless;
+
+    private FusedGatherer(List<Function<Node, Node>> stages, Function<Object, Object> step, boolean stateless) {
+        this.stages = stages;
+        this.step = step;
+        this.stateless = stateless;
+    }
+
+    public static <T> FusedGatherer<T, T> fuse() {
+        return new FusedGatherer<>(List.of(), null, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <U> FusedGatherer<T, U> map(Function<? super R, ? extends U> mapper) {
+        return thenStep((Function<Object, Object>) mapper);
+    }
+
+    @SuppressWarnings("unchecked")
+    public FusedGatherer<T, R> filter(Predicate<? super R> predicate) {
+        Predicate<Object> test = (Predicate<Object>) predicate;
+        return thenStep(value -> test.test(value) ? value : SKIP);
+    }
+
+    /**
+     * Like {@code Stream.mapMulti}: the mapper pushes any number of results to the consumer.
+     */
+    @SuppressWarnings("unchecked")
+    public <U> FusedGatherer<T, U> mapMulti(BiConsumer<? super R, ? super Consumer<U>> mapper) {
+        return then(next -> new MapMultiNode(next, (BiConsumer<Object, Consumer<Object>>) (BiConsumer<?, ?>) mapper), true);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <U> FusedGatherer<T, U> flatMap(Function<? super R, ? extends Stream<? extends U>> mapper) {
+        return then(next -> new FlatMapNode(next, (Function<Object, Stream<?>>) (Function<?, ?>) mapper), true);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <U> FusedGatherer<T, U> scan(Supplier<U> initial, BiFunction<? super U, ? super R, ? extends U> scanner) {
+        return then(next -> new ScanNode(next, initial.get(), (BiFunction<Object, Object, Object>) scanner), false);
+    }
+
+    /**
+     * Folds everything that reaches this stage into one value, handed to the following
+     * stages when the stream ends, like {@code Gatherers.fold}.
+     */
+    @SuppressWarnings("unchecked")
+    public <U> FusedGatherer<T, U> fold(Supplier<U> initial, BiFunction<? super U, ? super R, ? extends U> folder) {
+        return then(next -> new FoldNode(next, initial.get(), (BiFunction<Object, Object, Object>) folder), false);
+    }
+
+    private <U> FusedGatherer<T, U> thenStep(Function<Object, Object> added) {
+        Function<Object, Object> previous = step;
+        Function<Object, Object> composed = previous == null ? added : value -> {
+            Object result = previous.apply(value);
+            return result == SKIP ? SKIP : added.apply(result);
+        };
+        return new FusedGatherer<>(stages, composed, stateless);
+    }
+
+    private <U> FusedGatherer<T, U> then(Function<Node, Node> stage, boolean statelessStage) {
+        List<Function<Node, Node>> chained = new ArrayList<>(nodes());
+        chained.add(stage);
+        return new FusedGatherer<>(List.copyOf(chained), null, stateless && statelessStage);
+    }
+
+    /**
+     * The node stages, with the pending step, if any, as the last one.
+     */
+    private List<Function<Node, Node>> nodes() {
+        if (step == null) return stages;
+        Function<Object, Object> pending = step;
+        List<Function<Node, Node>> nodes = new ArrayList<>(stages);
+        nodes.add(next -> new StepNode(next, pending));
+        return nodes;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Gatherer<T, ?, R> toGatherer() {
+        if (stages.isEmpty() && step != null) {
+            Function<Object, Object> only = step;
+            return Gatherer.of(Gatherer.Integrator.ofGreedy((_, element, downstream) -> {
+                Object result = only.apply(element);
+                return result == SKIP || downstream.push((R) result);
+            }));
+        }
+        List<Function<Node, Node>> nodes = nodes();
+        Supplier<Chain> initializer = () -> {
+            Terminal terminal = new Terminal();
+            Node head = terminal;
+            for (int i = nodes.size() - 1; i >= 0; i--) head = nodes.get(i).apply(head);
+            return new Chain(head, terminal);
+        };
+        Gatherer.Integrator<Chain, T, R> integrator = Gatherer.Integrator.ofGreedy((chain, element, downstream) -> {
+            chain.terminal.downstream = downstream;
+            return chain.head.accept(element);
+        });
+        BiConsumer<Chain, Gatherer.Downstream<? super R>> finisher = (chain, downstream) -> {
+            chain.terminal.downstream = downstream;
+            if (!downstream.isRejecting()) chain.head.finish();
+        };
+        return stateless
+            ? Gatherer.of(initializer, integrator, (left, _) -> left, finisher)
+            : Gatherer.ofSequential(initializer, integrator, finisher);
+    }
+
+    private record Chain(Node head, Terminal terminal) {}
+
+    /**
+     * One stage of a fused chain. {@code accept} returns {@code false} once nothing more is wanted.
+     */
+    private abstract static class Node {
+        final Node next;
+
+        Node(Node next) {
+            this.next = next;
+        }
+
+        abstract boolean accept(Object value);
+
+        void finish() {
+            next.finish();
+        }
+    }
+
+    private static final class Terminal extends Node {
+        private Gatherer.Downstream<?> downstream;
+
+        Terminal() {
+            super(null);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        boolean accept(Object value) {
+            return ((Gatherer.Downstream<Object>) downstream).push(value);
+        }
+
+        @Override
+        void finish() {
+        }
+    }
+
+    /**
+     * A run of map and filter stages composed into one function.
+     */
+    private static final class StepNode extends Node {
+        private final Function<Object, Object> step;
+
+        StepNode(Node next, Function<Object, Object> step) {
+            super(next);
+            this.step = step;
+        }
+
+        @Override
+        boolean accept(Object value) {
+            Object result = step.apply(value);
+            return result == SKIP || next.accept(result);
+        }
+    }
+
+    private static final class MapMultiNode extends Node {
+        private final BiConsumer<Object, Consumer<Object>> mapper;
+        private boolean accepting;
+        private final Consumer<Object> results = result -> {
+            if (accepting) accepting = next.accept(result);
+        };
+
+        MapMultiNode(Node next, BiConsumer<Object, Consumer<Object>> mapper) {
+            super(next);
+            this.mapper = mapper;
+        }
+
+        @Override
+        boolean accept(Object value) {
+            accepting = true;
+            mapper.accept(value, results);
+            return accepting;
+        }
+    }
+
+    private static final class FlatMapNode extends Node {
+        private final Function<Object, Stream<?>> mapper;
+
+        FlatMapNode(Node next, Function<Object, Stream<?>> mapper) {
+            super(next);
+            this.mapper = mapper;
+        }
+
+        @Override
+        boolean accept(Object value) {
+            try (Stream<?> results = mapper.apply(value)) {
+                if (results == null) return true;
+                Iterator<?> iterator = results.iterator();
+                while (iterator.hasNext()) {
+                    if (!next.accept(iterator.next())) return false;
+                }
+                return true;
+            }
+        }
+    }
+
+    private static final class ScanNode extends Node {
+        private final BiFunction<Object, Object, Object> scanner;
+        private Object current;
+
+        ScanNode(Node next, Object initial, BiFunction<Object, Object, Object> scanner) {
+            super(next);
+            this.current = initial;
+            this.scanner = scanner;
+        }
+
+        @Override
+        boolean accept(Object value) {
+            current = scanner.apply(current, value);
+            return next.accept(current);
+        }
+    }
+
+    private static final class FoldNode extends Node {
+        private final BiFunction<Object, Object, Object> folder;
+        private Object current;
+
+        FoldNode(Node next, Object initial, BiFunction<Object, Object, Object> folder) {
+            super(next);
+            this.current = initial;
+            this.folder = folder;
+        }
+
+        @Override
+        boolean accept(Object value) {
+            current = folder.apply(current, value);
+            return true;
+        }
+
+        @Override
+        void finish() {
+            if (next.accept(current)) next.finish();
+        }
+    }
+}
@@ -1,25 +1,46 @@
 package com.evolutionnext.streamgatherers;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.DoubleBinaryOperator;
 import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Gatherer;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 public class GroupByGatherer {
 
-    static class GroupBy<T, K> implements Gatherer<T, HashMap<K, List<T>>, Map.Entry<K, List<T>>> {
+    /**
+     * Groups elements by key and emits one entry per key once the stream is exhausted.
+     * Each split of a parallel stream builds its own map, and the combiner merges them.
+     * The ordered mode (the default) keeps every group in encounter order. The unordered
+     * mode merges the smaller map into the larger one, which is cheaper when the stream
+     * is unordered and group order does not matter.
+     * <p>
+     * The static factories are the family of grouping gatherers: plain grouping, and grouping
+     * that collects, reduces, counts or sums each group as it goes.
+     */
+    public static class GroupBy<T, K> implements Gatherer<T, HashMap<K, List<T>>, Map.Entry<K, List<T>>> {
 
         private final Function<T, K> groupFunction;
+        private final boolean ordered;
 
         public GroupBy(Function<T, K> groupFunction) {
+            this(groupFunction, true);
+        }
+
+        public GroupBy(Function<T, K> groupFunction, boolean ordered) {
             this.groupFunction = groupFunction;
+            this.ordered = ordered;
         }
 
         @Override
@@ -29,22 +50,145 @@ public class GroupByGatherer {
 
         @Override
         public Integrator<HashMap<K, List<T>>, T, Map.Entry<K, List<T>>> integrator() {
-            return (state, element,  _) -> {
-                K result = groupFunction.apply(element);
-                state.computeIfAbsent(result, _ -> new ArrayList<>());
-                state.get(result).add(element);
+            return Integrator.ofGreedy((state, element, _) -> {
+                state.computeIfAbsent(groupFunction.apply(element), _ -> new ArrayList<>()).add(element);
                 return true;
-            };
+            });
+        }
+
+        @Override
+        public BinaryOperator<HashMap<K, List<T>>> combiner() {
+            return ordered ? GroupBy::combineOrdered : GroupBy::combineUnordered;
         }
 
         public static <T, K> Gatherer<T, HashMap<K, List<T>>, Map.Entry<K, List<T>>> groupBy(Function<T, K> groupFunction) {
             return new GroupBy<>(groupFunction);
         }
 
+        public static <T, K> Gatherer<T, HashMap<K, List<T>>, Map.Entry<K, List<T>>> groupByUnordered(Function<T, K> groupFunction) {
+            return new GroupBy<>(groupFunction, false);
+        }
+
+        /**
+         * Groups and reduces in one pass, keeping a single accumulator per key instead of
+         * every element. The collector's combiner merges the per-split maps of a parallel stream.
+         */
+        public static <T, K, A, R> Gatherer<T, HashMap<K, A>, Map.Entry<K, R>> groupByCollecting(Function<T, K> groupFunction,
+                                                                                                 Collector<? super T, A, R> collector) {
+            Supplier<A> supplier = collector.supplier();
+            BiConsumer<A, ? super T> accumulator = collector.accumulator();
+            BinaryOperator<A> combiner = collector.combiner();
+            Function<A, R> finisher = collector.finisher();
+            return Gatherer.of(
+                HashMap::new,
+                Integrator.ofGreedy((state, element, _) -> {
+                    K key = groupFunction.apply(element);
+                    A container = state.get(key);
+                    if (container == null) {
+                        container = supplier.get();
+                        state.put(key, container);
+                    }
+                    accumulator.accept(container, element);
+                    return true;
+                }),
+                (left, right) -> {
+                    right.forEach((key, container) -> left.merge(key, container, combiner));
+                    return left;
+                },
+                (state, downstream) -> {
+                    for (Map.Entry<K, A> entry : state.entrySet()) {
+                        R result = finisher.apply(entry.getValue());
+                        if (!downstream.push(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), result))) return;
+                    }
+                });
+        }
+
+        public static <T, K> Gatherer<T, ?, Map.Entry<K, T>> groupByReducing(Function<T, K> groupFunction,
+                                                                            T identity, BinaryOperator<T> reducer) {
+            return groupByCollecting(groupFunction, Collectors.reducing(identity, reducer));
+        }
+
+        public static <T, K, U> Gatherer<T, ?, Map.Entry<K, U>> groupByReducing(Function<T, K> groupFunction, U identity,
+                                                                               Function<? super T, ? extends U> mapper,
+                                                                               BinaryOperator<U> reducer) {
+            return groupByCollecting(groupFunction, Collectors.reducing(identity, mapper, reducer));
+        }
+
+        /**
+         * Like {@link #groupByReducing(Function, Object, BinaryOperator)} but the accumulator of each
+         * key is an unboxed {@code long}, so the integrator allocates only when it meets a new key.
+         */
+        public static <T, K> Gatherer<T, HashMap<K, long[]>, Map.Entry<K, Long>> groupByReducingLong(Function<T, K> groupFunction,
+                                                                                                     ToLongFunction<? super T> mapper,
+                                                                                                     long identity,
+                                                                                                     LongBinaryOperator reducer) {
+            return groupByCollecting(groupFunction, Collector.of(
+                () -> new long[]{identity},
+                (accumulator, element) -> accumulator[0] = reducer.applyAsLong(accumulator[0], mapper.applyAsLong(element)),
+                (left, right) -> {
+                    left[0] = reducer.applyAsLong(left[0], right[0]);
+                    return left;
+                },
+                accumulator -> accumulator[0]));
+        }
+
+        public static <T, K> Gatherer<T, HashMap<K, double[]>, Map.Entry<K, Double>> groupByReducingDouble(Function<T, K> groupFunction,
+                                                                                                           ToDoubleFunction<? super T> mapper,
+                                                                                                           double identity,
+                                                                                                           DoubleBinaryOperator reducer) {
+            return groupByCollecting(groupFunction, Collector.of(
+                () -> new double[]{identity},
+                (accumulator, element) -> accumulator[0] = reducer.applyAsDouble(accumulator[0], mapper.applyAsDouble(element)),
+                (left, right) -> {
+                    left[0] = reducer.applyAsDouble(left[0], right[0]);
+                    return left;
+                },
+                accumulator -> accumulator[0]));
+        }
+
+        public static <T, K> Gatherer<T, HashMap<K, long[]>, Map.Entry<K, Long>> groupByCounting(Function<T, K> groupFunction) {
+            return groupByReducingLong(groupFunction, _ -> 1L, 0L, Long::sum);
+        }
+
+        public static <T, K> Gatherer<T, HashMap<K, long[]>, Map.Entry<K, Long>> groupBySummingLong(Function<T, K> groupFunction,
+                                                                                                    ToLongFunction<? super T> mapper) {
+            return groupByReducingLong(groupFunction, mapper, 0L, Long::sum);
+        }
+
+        public static <T, K> Gatherer<T, HashMap<K, double[]>, Map.Entry<K, Double>> groupBySummingDouble(Function<T, K> groupFunction,
+                                                                                                          ToDoubleFunction<? super T> mapper) {
+            return groupByReducingDouble(groupFunction, mapper, 0.0, Double::sum);
+        }
+
         @Override
         public BiConsumer<HashMap<K, List<T>>, Downstream<? super Map.Entry<K, List<T>>>> finisher() {
-            return (kListHashMap, downstream) ->
-                kListHashMap.entrySet().forEach(downstream::push);
+            return (kListHashMap, downstream) -> {
+                for (Map.Entry<K, List<T>> entry : kListHashMap.entrySet()) {
+                    if (!downstream.push(entry)) return;
+                }
+            };
+        }
+
+        private static <T, K> HashMap<K, List<T>> combineOrdered(HashMap<K, List<T>> left, HashMap<K, List<T>> right) {
+            right.forEach((key, values) -> left.merge(key, values, (l, r) -> {
+                l.addAll(r);
+                return l;
+            }));
+            return left;
+        }
+
+        private static <T, K> HashMap<K, List<T>> combineUnordered(HashMap<K, List<T>> left, HashMap<K, List<T>> right) {
+            HashMap<K, List<T>> larger = left.size() >= right.size() ? left : right;
+            HashMap<K, List<T>> smaller = larger == left ? right : left;
+            smaller.forEach((key, values) -> larger.merge(key, values, (l, r) -> {
+                if (l.size() >= r.size()) {
+                    l.addAll(r);
+                    return l;
+                }
+                r.addAll(l);
+                return r;
+            }));
+            return larger;
         }
     }
 
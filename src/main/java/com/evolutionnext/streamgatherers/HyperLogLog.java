@@ -0,0 +1,79 @@
+package com.evolutionnext.streamgatherers;
+
+/**
+ * A HyperLogLog distinct-count sketch with {@code 2^precision} one-byte registers. The
+ * standard error of {@link #estimate()} is about {@code 1.04 / sqrt(2^precision)}, so
+ * precision 14 gives roughly 0.8% in 16 KiB however many elements are added. Merging two
+ * sketches of the same precision gives exactly the sketch of the combined input.
+ */
+public final class HyperLogLog {
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) throw new IllegalArgumentException("precision must be in [4, 18]: " + precision);
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * The smallest sketch whose standard error is at most {@code relativeError}.
+     */
+    public static HyperLogLog withRelativeError(double relativeError) {
+        if (!(relativeError > 0 && relativeError < 1)) throw new IllegalArgumentException("relativeError must be in (0, 1): " + relativeError);
+        int precision = (int) Math.ceil(2 * (Math.log(1.04 / relativeError) / Math.log(2)));
+        return new HyperLogLog(Math.clamp(precision, 4, 18));
+    }
+
+    public int precision() {
+        return precision;
+    }
+
+    public void add(Object element) {
+        addHash(SketchHashing.hash(element));
+    }
+
+    /**
+     * Adds an element by a well-mixed 64-bit hash, for callers with a better hash than {@code hashCode}.
+     */
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << precision), 64 - precision) + 1;
+        if (rank > registers[index]) registers[index] = (byte) rank;
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) zeros++;
+        }
+        double alpha = switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) estimate = m * Math.log((double) m / zeros);
+        return Math.round(estimate);
+    }
+
+    public HyperLogLog merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge precision " + other.precision + " into " + precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) registers[i] = other.registers[i];
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "HyperLogLog[precision=" + precision + ", estimate=" + estimate() + "]";
+    }
+}
@@ -0,0 +1,301 @@
+package com.evolutionnext.streamgatherers;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.Gatherer;
+
+/**
+ * Wraps a gatherer so that it reports what it does under a name, instead of printing from
+ * the integrator. Counts are kept in plain fields of each evaluation's state and only added
+ * to the shared {@link GathererMetrics} when that state is finished or combined, so the hot
+ * path touches no shared memory. Integrator time is sampled on one element in
+ * {@value #SAMPLE_EVERY}. Each finished evaluation is also emitted as a JFR event.
+ */
+public final class InstrumentedGatherers {
+
+    static final int SAMPLE_EVERY = 16;
+
+    private static final Map<String, GathererMetrics> METRICS = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = true;
+
+    private InstrumentedGatherers() {
+    }
+
+    /**
+     * Turns recording on or off for evaluations that start afterwards. Switched off, an
+     * instrumented gatherer only adds a field check per element.
+     */
+    public static void setEnabled(boolean enabled) {
+        InstrumentedGatherers.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static GathererMetrics metrics(String name) {
+        return METRICS.computeIfAbsent(name, GathererMetrics::new);
+    }
+
+    public static <T, A, R> Gatherer<T, ?, R> instrumented(Gatherer<T, A, R> gatherer, String name) {
+        GathererMetrics metrics = metrics(name);
+        Gatherer.Integrator<A, T, R> inner = gatherer.integrator();
+        BinaryOperator<A> innerCombiner = gatherer.combiner();
+        BiConsumer<A, Gatherer.Downstream<? super R>> innerFinisher = gatherer.finisher();
+
+        Gatherer.Integrator<State<A, R>, T, R> integrator = (state, element, downstream) -> {
+            if (!state.enabled) return inner.integrate(state.inner, element, downstream);
+            state.downstream = downstream;
+            boolean more;
+            if (state.elements++ % SAMPLE_EVERY == 0) {
+                long start = System.nanoTime();
+                more = inner.integrate(state.inner, element, state);
+                state.record(System.nanoTime() - start);
+            } else {
+                more = inner.integrate(state.inner, element, state);
+            }
+            if (!more) state.shortCircuits++;
+            return more;
+        };
+        BiConsumer<State<A, R>, Gatherer.Downstream<? super R>> finisher = (state, downstream) -> {
+            if (!state.enabled) {
+                innerFinisher.accept(state.inner, downstream);
+                return;
+            }
+            state.downstream = downstream;
+            innerFinisher.accept(state.inner, state);
+            state.flushTo(metrics);
+        };
+        Supplier<A> innerInitializer = gatherer.initializer();
+        Supplier<State<A, R>> initializer = () -> new State<>(innerInitializer.get(), name);
+
+        if (innerCombiner == Gatherer.<A>defaultCombiner()) {
+            return Gatherer.ofSequential(initializer, greedy(inner, integrator), finisher);
+        }
+        return Gatherer.of(initializer, greedy(inner, integrator), (left, right) -> {
+            left.inner = innerCombiner.apply(left.inner, right.inner);
+            if (left.enabled) {
+                left.absorb(right);
+                metrics.combines.increment();
+            }
+            return left;
+        }, finisher);
+    }
+
+    private static <A, T, R, S> Gatherer.Integrator<S, T, R> greedy(Gatherer.Integrator<A, T, R> inner,
+                                                                   Gatherer.Integrator<S, T, R> wrapper) {
+        if (!(inner instanceof Gatherer.Integrator.Greedy<A, T, R>)) return wrapper;
+        return Gatherer.Integrator.<S, T, R>ofGreedy((state, element, downstream) -> wrapper.integrate(state, element, downstream));
+    }
+
+    /**
+     * Totals for every evaluation of the gatherers instrumented under one name. The integrator
+     * histogram has one bucket per power of two nanoseconds: bucket {@code b} counts sampled
+     * calls that took from {@code 2^(b-1)} up to {@code 2^b - 1} nanoseconds.
+     */
+    public static final class GathererMetrics {
+        private final String name;
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder elements = new LongAdder();
+        private final LongAdder pushes = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder shortCircuits = new LongAdder();
+        private final LongAdder combines = new LongAdder();
+        private final LongAdder[] integratorNanos = new LongAdder[64];
+
+        GathererMetrics(String name) {
+            this.name = name;
+            for (int i = 0; i < integratorNanos.length; i++) integratorNanos[i] = new LongAdder();
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public long evaluations() {
+            return evaluations.sum();
+        }
+
+        public long elements() {
+            return elements.sum();
+        }
+
+        public long pushes() {
+            return pushes.sum();
+        }
+
+        /**
+         * Pushes that downstream answered with {@code false}.
+         */
+        public long rejected() {
+            return rejected.sum();
+        }
+
+        /**
+         * Integrator calls that returned {@code false}, whether the gatherer chose to stop or
+         * passed on a rejection from downstream.
+         */
+        public long shortCircuits() {
+            return shortCircuits.sum();
+        }
+
+        public long combines() {
+            return combines.sum();
+        }
+
+        public long[] integratorNanosHistogram() {
+            long[] histogram = new long[integratorNanos.length];
+            for (int i = 0; i < histogram.length; i++) histogram[i] = integratorNanos[i].sum();
+            return histogram;
+        }
+
+        /**
+         * The upper bound, in nanoseconds, of the histogram bucket holding the given percentile.
+         */
+        public long integratorNanosPercentile(double percentile) {
+            long[] histogram = integratorNanosHistogram();
+            long total = 0;
+            for (long count : histogram) total += count;
+            long rank = (long) Math.ceil(percentile / 100 * total);
+            long seen = 0;
+            for (int bucket = 0; bucket < histogram.length; bucket++) {
+                seen += histogram[bucket];
+                if (seen >= rank && seen > 0) return bucket == 0 ? 0 : (1L << bucket) - 1;
+            }
+            return 0;
+        }
+
+        public void reset() {
+            for (LongAdder adder : new LongAdder[]{evaluations, elements, pushes, rejected, shortCircuits, combines}) adder.reset();
+            for (LongAdder bucket : integratorNanos) bucket.reset();
+        }
+
+        @Override
+        public String toString() {
+            return "GathererMetrics[%s: evaluations=%d, elements=%d, pushes=%d, rejected=%d, shortCircuits=%d, combines=%d, p50=%dns, p99=%dns]"
+                .formatted(name, evaluations(), elements(), pushes(), rejected(), shortCircuits(), combines(),
+                    integratorNanosPercentile(50), integratorNanosPercentile(99));
+        }
+    }
+
+    @Name("com.evolutionnext.streamgatherers.Gatherer")
+    @Label("Gatherer Evaluation")
+    @Category("Stream Gatherers")
+    @Description("One evaluation of an instrumented gatherer, from its initializer to its finisher")
+    @StackTrace(false)
+    static final class GathererEvent extends Event {
+        @Label("Name")
+        String name;
+
+        @Label("Elements")
+        long elements;
+
+        @Label("Pushes")
+        long pushes;
+
+        @Label("Rejected Pushes")
+        long rejected;
+
+        @Label("Short Circuits")
+        long shortCircuits;
+
+        @Label("Combined States")
+        long combined;
+    }
+
+    /**
+     * Wraps the inner state and stands in as the inner gatherer's downstream, counting pushes.
+     */
+    static final class State<A, R> implements Gatherer.Downstream<R> {
+        private final boolean enabled = InstrumentedGatherers.enabled;
+        private final GathererEvent event;
+        private A inner;
+        private Gatherer.Downstream<? super R> downstream;
+        private long elements;
+        private long pushes;
+        private long rejected;
+        private long shortCircuits;
+        private long combined;
+        private long[] histogram;
+
+        State(A inner, String name) {
+            this.inner = inner;
+            if (enabled) {
+                event = new GathererEvent();
+                event.name = name;
+                event.begin();
+            } else {
+                event = null;
+            }
+        }
+
+        @Override
+        public boolean push(R element) {
+            pushes++;
+            if (downstream.push(element)) return true;
+            rejected++;
+            return false;
+        }
+
+        @Override
+        public boolean isRejecting() {
+            return downstream.isRejecting();
+        }
+
+        void record(long nanos) {
+            if (histogram == null) histogram = new long[64];
+            histogram[64 - Long.numberOfLeadingZeros(Math.max(nanos, 0))]++;
+        }
+
+        void absorb(State<A, R> other) {
+            elements += other.elements;
+            pushes += other.pushes;
+            rejected += other.rejected;
+            shortCircuits += other.shortCircuits;
+            combined += other.combined + 1;
+            if (other.histogram != null) {
+                for (int i = 0; i < other.histogram.length; i++) {
+                    if (other.histogram[i] != 0) record(i, other.histogram[i]);
+                }
+            }
+        }
+
+        private void record(int bucket, long count) {
+            if (histogram == null) histogram = new long[64];
+            histogram[bucket] += count;
+        }
+
+        void flushTo(GathererMetrics metrics) {
+            metrics.evaluations.increment();
+            metrics.elements.add(elements);
+            metrics.pushes.add(pushes);
+            metrics.rejected.add(rejected);
+            metrics.shortCircuits.add(shortCircuits);
+            if (histogram != null) {
+                for (int i = 0; i < histogram.length; i++) {
+                    if (histogram[i] != 0) metrics.integratorNanos[i].add(histogram[i]);
+                }
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.elements = elements;
+                event.pushes = pushes;
+                event.rejected = rejected;
+                event.shortCircuits = shortCircuits;
+                event.combined = combined;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.evolutionnext.streamgatherers;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable, fixed-length view over an int[] emitted by {@link Chunkers}.
+ * Values are kept unboxed; {@link #get(int)} only boxes when the chunk is used as a {@code List}.
+ */
+public final class IntChunk extends AbstractList<Integer> implements RandomAccess {
+
+    private final int[] values;
+    private final int length;
+
+    IntChunk(int[] values, int length) {
+        this.values = values;
+        this.length = length;
+    }
+
+    public int getInt(int index) {
+        Objects.checkIndex(index, length);
+        return values[index];
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    public IntStream intStream() {
+        return Arrays.stream(values, 0, length);
+    }
+
+    public int[] toIntArray() {
+        return Arrays.copyOf(values, length);
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+}
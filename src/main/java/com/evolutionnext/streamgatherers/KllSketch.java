@@ -0,0 +1,157 @@
+package com.evolutionnext.streamgatherers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A KLL quantile sketch over doubles. Values enter level 0; when the sketch outgrows its
+ * capacity the lowest full level is sorted and every other value (from a random offset) is
+ * promoted to the next level with twice the weight. Level capacities shrink by 2/3 going
+ * down from {@code k}, so memory is O(k) and the rank error is roughly {@code 1.7 / k}
+ * (about 1% for the default {@code k = 200}). Sketches with the same {@code k} merge.
+ */
+public final class KllSketch {
+
+    public static final int DEFAULT_K = 200;
+
+    private final int k;
+    private final List<double[]> levels = new ArrayList<>();
+    private final List<Integer> sizes = new ArrayList<>();
+    private long count;
+    private int retained;
+    private int capacity;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private long coins = 0x9E3779B97F4A7C15L;
+
+    public KllSketch() {
+        this(DEFAULT_K);
+    }
+
+    public KllSketch(int k) {
+        if (k < 8) throw new IllegalArgumentException("k must be at least 8: " + k);
+        this.k = k;
+        addLevel();
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value)) return;
+        append(0, value);
+        count++;
+        min = count == 1 ? value : Math.min(min, value);
+        max = count == 1 ? value : Math.max(max, value);
+        if (retained > capacity) compress();
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    /**
+     * The value at normalised rank {@code rank} in [0, 1]; {@code quantile(0.5)} is the median.
+     */
+    public double quantile(double rank) {
+        if (rank < 0 || rank > 1) throw new IllegalArgumentException("rank must be in [0, 1]: " + rank);
+        if (count == 0) return Double.NaN;
+        if (rank == 0) return min;
+        if (rank == 1) return max;
+        double[] values = new double[retained];
+        long[] weights = new long[values.length];
+        int n = 0;
+        for (int level = 0; level < levels.size(); level++) {
+            for (int i = 0; i < sizes.get(level); i++) {
+                values[n] = levels.get(level)[i];
+                weights[n++] = 1L << level;
+            }
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        long target = (long) Math.ceil(rank * count);
+        long seen = 0;
+        for (int index : order) {
+            seen += weights[index];
+            if (seen >= target) return values[index];
+        }
+        return max;
+    }
+
+    public KllSketch merge(KllSketch other) {
+        if (other.k != k) throw new IllegalArgumentException("Cannot merge k=" + other.k + " into k=" + k);
+        if (other.count == 0) return this;
+        while (levels.size() < other.levels.size()) addLevel();
+        for (int level = 0; level < other.levels.size(); level++) {
+            for (int i = 0; i < other.sizes.get(level); i++) append(level, other.levels.get(level)[i]);
+        }
+        min = count == 0 ? other.min : Math.min(min, other.min);
+        max = count == 0 ? other.max : Math.max(max, other.max);
+        count += other.count;
+        while (retained > capacity) compress();
+        return this;
+    }
+
+    private void addLevel() {
+        levels.add(new double[8]);
+        sizes.add(0);
+        capacity = 0;
+        for (int level = 0; level < levels.size(); level++) capacity += levelCapacity(level);
+    }
+
+    private void append(int level, double value) {
+        double[] values = levels.get(level);
+        int size = sizes.get(level);
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            levels.set(level, values);
+        }
+        values[size] = value;
+        sizes.set(level, size + 1);
+        retained++;
+    }
+
+    private int levelCapacity(int level) {
+        int depth = levels.size() - 1 - level;
+        return Math.max(2, (int) Math.ceil(k * Math.pow(2.0 / 3, depth)));
+    }
+
+    /**
+     * Halves the lowest level that is at or over its capacity. With an odd count the
+     * smallest value stays behind so the promoted values pair up.
+     */
+    private void compress() {
+        for (int level = 0; level < levels.size(); level++) {
+            int size = sizes.get(level);
+            if (size < levelCapacity(level)) continue;
+            if (level + 1 == levels.size()) addLevel();
+            double[] values = levels.get(level);
+            Arrays.sort(values, 0, size);
+            int leftover = size % 2;
+            int offset = nextCoin();
+            for (int i = leftover + offset; i < size; i += 2) append(level + 1, values[i]);
+            sizes.set(level, leftover);
+            retained -= size - leftover;
+            return;
+        }
+    }
+
+    private int nextCoin() {
+        coins ^= coins << 13;
+        coins ^= coins >>> 7;
+        coins ^= coins << 17;
+        return (int) (coins & 1);
+    }
+
+    @Override
+    public String toString() {
+        return "KllSketch[k=%d, count=%d, min=%s, median=%s, max=%s]".formatted(k, count, min, quantile(0.5), max);
+    }
+}
@@ -0,0 +1,53 @@
+package com.evolutionnext.streamgatherers;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.stream.LongStream;
+
+/**
+ * An immutable, fixed-length view over a long[] emitted by {@link Chunkers}.
+ * Values are kept unboxed; {@link #get(int)} only boxes when the chunk is used as a {@code List}.
+ */
+public final class LongChunk extends AbstractList<Long> implements RandomAccess {
+
+    private final long[] values;
+    private final int length;
+
+    LongChunk(long[] values, int length) {
+        this.values = values;
+        this.length = length;
+    }
+
+    public long getLong(int index) {
+        Objects.checkIndex(index, length);
+        return values[index];
+    }
+
+    @Override
+    public Long get(int index) {
+        return getLong(index);
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    public LongStream longStream() {
+        return Arrays.stream(values, 0, length);
+    }
+
+    public long[] toLongArray() {
+        return Arrays.copyOf(values, length);
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,211 @@
+package com.evolutionnext.streamgatherers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Gatherer;
+
+/**
+ * Collects elements into batches of up to {@code maxBatchSize} and hands each batch to
+ * {@code sink} on its own virtual thread, emitting the sink's results in batch order.
+ * A batch that has waited {@code maxLinger} since its first element is flushed by a timer
+ * even if upstream has stalled. At most {@code maxInFlight} batch results are held at once;
+ * when the window is full the stream thread waits for the oldest one, which is the backpressure.
+ * A batch whose linger runs out while the window is full is flushed as soon as a result is
+ * taken out of the window, by the timer or by the stream thread on its next element.
+ */
+public record MicroBatcher<T, R>(int maxBatchSize,
+                                 Duration maxLinger,
+                                 int maxInFlight,
+                                 Function<? super List<T>, ? extends R> sink)
+    implements Gatherer<T, MicroBatcher.State<T, R>, R> {
+
+    public MicroBatcher {
+        if (maxBatchSize < 1) throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+        if (maxInFlight < 1) throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        if (maxLinger.isNegative() || maxLinger.isZero()) {
+            throw new IllegalArgumentException("maxLinger must be positive: " + maxLinger);
+        }
+    }
+
+    public static <T, R> MicroBatcher<T, R> microBatch(int maxBatchSize, Duration maxLinger, int maxInFlight,
+                                                       Function<? super List<T>, ? extends R> sink) {
+        return new MicroBatcher<>(maxBatchSize, maxLinger, maxInFlight, sink);
+    }
+
+    /**
+     * The stream thread and the one linger timer share the open batch and the in-flight queue
+     * under {@code lock}, and {@code changed} is signalled whenever a batch opens or a result
+     * leaves the window. Only the stream thread removes results, and it awaits and pushes them
+     * with the lock released, so a slow sink or downstream never holds up the timer.
+     */
+    static final class State<T, R> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private final ArrayDeque<Future<R>> inFlight = new ArrayDeque<>();
+        private ArrayList<T> batch;
+        private long deadline;
+        private boolean timerStarted;
+    }
+
+    @Override
+    public Supplier<State<T, R>> initializer() {
+        return State::new;
+    }
+
+    @Override
+    public Integrator<State<T, R>, T, R> integrator() {
+        return Integrator.ofGreedy((state, element, downstream) -> {
+            // An open batch that lingered out while the window was full goes before this element joins it
+            if (!flush(state, downstream, false)) return false;
+            state.lock.lock();
+            try {
+                if (state.batch == null) openBatch(state);
+                state.batch.add(element);
+            } finally {
+                state.lock.unlock();
+            }
+            return flush(state, downstream, false) && pushCompleted(state, downstream);
+        });
+    }
+
+    @Override
+    public BiConsumer<State<T, R>, Downstream<? super R>> finisher() {
+        return (state, downstream) -> {
+            try {
+                if (downstream.isRejecting() || !flush(state, downstream, true)) return;
+                while (true) {
+                    Future<R> oldest = removeOldest(state);
+                    if (oldest == null || !downstream.push(await(state, oldest))) return;
+                }
+            } finally {
+                // A short-circuited stream leaves a batch open; the timer must not dispatch it
+                state.lock.lock();
+                try {
+                    state.batch = null;
+                } finally {
+                    state.lock.unlock();
+                }
+                state.executor.shutdownNow();
+            }
+        };
+    }
+
+    private void openBatch(State<T, R> state) {
+        state.batch = new ArrayList<>(Math.min(maxBatchSize, 1024));
+        state.deadline = System.nanoTime() + maxLinger.toNanos();
+        if (!state.timerStarted) {
+            state.timerStarted = true;
+            state.executor.execute(() -> lingerTimer(state));
+        }
+        state.changed.signalAll();
+    }
+
+    /**
+     * Flushes the open batch if it is full, has lingered too long, or {@code force} is set,
+     * first pushing the oldest results downstream until the window has room for it.
+     */
+    private boolean flush(State<T, R> state, Downstream<? super R> downstream, boolean force) {
+        while (true) {
+            Future<R> oldest;
+            state.lock.lock();
+            try {
+                if (state.batch == null) return true;
+                boolean due = force || state.batch.size() >= maxBatchSize || System.nanoTime() - state.deadline >= 0;
+                if (!due) return true;
+                if (state.inFlight.size() < maxInFlight) {
+                    dispatch(state);
+                    return true;
+                }
+                oldest = state.inFlight.removeFirst();
+                state.changed.signalAll();
+            } finally {
+                state.lock.unlock();
+            }
+            if (!downstream.push(await(state, oldest))) return false;
+        }
+    }
+
+    /**
+     * Sleeps until the open batch's deadline, then waits for room in the window and flushes
+     * it. Runs until the executor is shut down.
+     */
+    private void lingerTimer(State<T, R> state) {
+        state.lock.lock();
+        try {
+            while (true) {
+                if (state.batch == null || state.inFlight.size() >= maxInFlight) {
+                    state.changed.await();
+                } else {
+                    long remaining = state.deadline - System.nanoTime();
+                    if (remaining > 0) state.changed.awaitNanos(remaining);
+                    else dispatch(state);
+                }
+            }
+        } catch (InterruptedException _) {
+            // The stream finished
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    private void dispatch(State<T, R> state) {
+        List<T> full = Collections.unmodifiableList(state.batch);
+        state.batch = null;
+        state.inFlight.addLast(state.executor.submit(() -> sink.apply(full)));
+    }
+
+    private Future<R> removeOldest(State<T, R> state) {
+        state.lock.lock();
+        try {
+            Future<R> oldest = state.inFlight.pollFirst();
+            if (oldest != null) state.changed.signalAll();
+            return oldest;
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    private boolean pushCompleted(State<T, R> state, Downstream<? super R> downstream) {
+        while (true) {
+            Future<R> next;
+            state.lock.lock();
+            try {
+                next = state.inFlight.peekFirst();
+                if (next == null || !next.isDone()) return true;
+                state.inFlight.removeFirst();
+                state.changed.signalAll();
+            } finally {
+                state.lock.unlock();
+            }
+            if (!downstream.push(await(state, next))) return false;
+        }
+    }
+
+    private static <R> R await(State<?, R> state, Future<R> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state.executor.shutdownNow();
+            throw new IllegalStateException("Interrupted while waiting for a batch", e);
+        } catch (ExecutionException e) {
+            state.executor.shutdownNow();
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.evolutionnext.streamgatherers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Gatherer;
+import java.util.stream.IntStream;
+
+/**
+ * Prefix scans that produce the same elements as {@code Gatherers.scan(() -> identity, op)}
+ * but can run on a parallel stream. Each split scans its own elements into a segment, the
+ * combiner only concatenates segments, and the finisher works out each segment's offset from
+ * the totals before it and applies the offsets to all segments in parallel. This needs
+ * {@code op} to be associative; {@code identity} is applied once, at the very start, so it
+ * does not have to be neutral. Every result is buffered until the end of the stream.
+ */
+public final class ParallelScanGatherer {
+
+    private ParallelScanGatherer() {
+    }
+
+    public static <T> Gatherer<T, ?, T> scan(T identity, BinaryOperator<T> op) {
+        return Gatherer.<T, ArrayList<Segment<T>>, T>of(
+            ArrayList::new,
+            Gatherer.Integrator.ofGreedy((segments, element, _) -> {
+                if (segments.isEmpty()) segments.add(new Segment<>());
+                segments.getFirst().add(element, op);
+                return true;
+            }),
+            ParallelScanGatherer::concat,
+            (segments, downstream) -> {
+                T[] offsets = offsets(segments, identity, op);
+                IntStream.range(0, segments.size()).parallel().forEach(i -> segments.get(i).applyOffset(offsets[i], op));
+                for (Segment<T> segment : segments) {
+                    for (int i = 0; i < segment.size; i++) {
+                        if (!downstream.push(segment.get(i))) return;
+                    }
+                }
+            });
+    }
+
+    public static <T> Gatherer<T, ?, Long> scanLong(ToLongFunction<? super T> mapper, long identity, LongBinaryOperator op) {
+        return Gatherer.<T, ArrayList<LongSegment>, Long>of(
+            ArrayList::new,
+            Gatherer.Integrator.ofGreedy((segments, element, _) -> {
+                if (segments.isEmpty()) segments.add(new LongSegment());
+                segments.getFirst().add(mapper.applyAsLong(element), op);
+                return true;
+            }),
+            ParallelScanGatherer::concat,
+            (segments, downstream) -> {
+                long[] offsets = new long[segments.size()];
+                long offset = identity;
+                for (int i = 0; i < offsets.length; i++) {
+                    offsets[i] = offset;
+                    offset = op.applyAsLong(offset, segments.get(i).total());
+                }
+                IntStream.range(0, segments.size()).parallel().forEach(i -> segments.get(i).applyOffset(offsets[i], op));
+                for (LongSegment segment : segments) {
+                    for (int i = 0; i < segment.size; i++) {
+                        if (!downstream.push(segment.values[i])) return;
+                    }
+                }
+            });
+    }
+
+    public static Gatherer<Long, ?, Long> scanLong(long identity, LongBinaryOperator op) {
+        return scanLong(Long::longValue, identity, op);
+    }
+
+    /**
+     * Floating point addition is not associative, so a parallel fold could differ from
+     * {@code Gatherers.scan} in the last bits. To stay bit-identical the splits only collect
+     * their values and the finisher folds them left to right; upstream stages still run in parallel.
+     */
+    public static <T> Gatherer<T, ?, Double> scanDouble(ToDoubleFunction<? super T> mapper, double identity, DoubleBinaryOperator op) {
+        return Gatherer.<T, ArrayList<DoubleSegment>, Double>of(
+            ArrayList::new,
+            Gatherer.Integrator.ofGreedy((segments, element, _) -> {
+                if (segments.isEmpty()) segments.add(new DoubleSegment());
+                segments.getFirst().add(mapper.applyAsDouble(element));
+                return true;
+            }),
+            ParallelScanGatherer::concat,
+            (segments, downstream) -> {
+                double running = identity;
+                for (DoubleSegment segment : segments) {
+                    for (int i = 0; i < segment.size; i++) {
+                        running = op.applyAsDouble(running, segment.values[i]);
+                        if (!downstream.push(running)) return;
+                    }
+                }
+            });
+    }
+
+    public static Gatherer<Double, ?, Double> scanDouble(double identity, DoubleBinaryOperator op) {
+        return scanDouble(Double::doubleValue, identity, op);
+    }
+
+    private static <S> ArrayList<S> concat(ArrayList<S> left, ArrayList<S> right) {
+        left.addAll(right);
+        return left;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] offsets(List<Segment<T>> segments, T identity, BinaryOperator<T> op) {
+        T[] offsets = (T[]) new Object[segments.size()];
+        T offset = identity;
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = offset;
+            offset = op.apply(offset, segments.get(i).get(segments.get(i).size - 1));
+        }
+        return offsets;
+    }
+
+    /**
+     * The running results of one split, starting from its own first element. Only the
+     * integrator of that split appends to it, so it is never empty once created.
+     */
+    private static final class Segment<T> {
+        private Object[] values = new Object[16];
+        private int size;
+
+        void add(T element, BinaryOperator<T> op) {
+            if (size == values.length) values = Arrays.copyOf(values, size << 1);
+            values[size] = size == 0 ? element : op.apply(get(size - 1), element);
+            size++;
+        }
+
+        @SuppressWarnings("unchecked")
+        T get(int index) {
+            return (T) values[index];
+        }
+
+        void applyOffset(T offset, BinaryOperator<T> op) {
+            for (int i = 0; i < size; i++) values[i] = op.apply(offset, get(i));
+        }
+    }
+
+    private static final class LongSegment {
+        private long[] values = new long[16];
+        private int size;
+
+        void add(long element, LongBinaryOperator op) {
+            if (size == values.length) values = Arrays.copyOf(values, size << 1);
+            values[size] = size == 0 ? element : op.applyAsLong(values[size - 1], element);
+            size++;
+        }
+
+        long total() {
+            return values[size - 1];
+        }
+
+        void applyOffset(long offset, LongBinaryOperator op) {
+            for (int i = 0; i < size; i++) values[i] = op.applyAsLong(offset, values[i]);
+        }
+    }
+
+    private static final class DoubleSegment {
+        private double[] values = new double[16];
+        private int size;
+
+        void add(double element) {
+            if (size == values.length) values = Arrays.copyOf(values, size << 1);
+            values[size++] = element;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.evolutionnext.streamgatherers;
+
+/**
+ * Primality test for the whole non-negative {@code long} range.
+ * Values below {@link #SIEVE_LIMIT} are answered from a precomputed odd-only sieve;
+ * larger values go through a deterministic Miller-Rabin using Montgomery multiplication,
+ * with the first twelve primes as witnesses, which is exact for every 64-bit input.
+ */
+public final class PrimalityOracle {
+
+    public static final int SIEVE_LIMIT = 1 << 22;
+
+    private static final long[] COMPOSITE_ODDS = sieve(SIEVE_LIMIT);
+
+    private static final int[] SMALL_PRIMES = {3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 43, 47, 53, 59, 61};
+
+    private static final long[] WITNESSES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37};
+
+    private PrimalityOracle() {
+    }
+
+    public static boolean isPrime(long n) {
+        if (n < 2) return false;
+        if ((n & 1) == 0) return n == 2;
+        if (n < SIEVE_LIMIT) {
+            int index = (int) (n >>> 1);
+            return (COMPOSITE_ODDS[index >>> 6] & (1L << index)) == 0;
+        }
+        for (int p : SMALL_PRIMES) {
+            if (n % p == 0) return false;
+        }
+        return millerRabin(n);
+    }
+
+    private static long[] sieve(int limit) {
+        long[] composite = new long[(limit >>> 7) + 1];
+        composite[0] |= 1L; // 1 is not prime
+        for (int i = 3; (long) i * i < limit; i += 2) {
+            int index = i >>> 1;
+            if ((composite[index >>> 6] & (1L << index)) != 0) continue;
+            for (int j = i * i; j < limit; j += 2 * i) {
+                int k = j >>> 1;
+                composite[k >>> 6] |= 1L << k;
+            }
+        }
+        return composite;
+    }
+
+    private static boolean millerRabin(long n) {
+        Montgomery m = new Montgomery(n);
+        long d = n - 1;
+        int s = Long.numberOfTrailingZeros(d);
+        d >>>= s;
+        long minusOne = n - m.one;
+        for (long a : WITNESSES) {
+            long x = m.pow(m.toMontgomery(a % n), d);
+            if (x == m.one || x == minusOne) continue;
+            boolean composite = true;
+            for (int r = 1; r < s; r++) {
+                x = m.multiply(x, x);
+                if (x == minusOne) {
+                    composite = false;
+                    break;
+                }
+            }
+            if (composite) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Montgomery arithmetic modulo an odd {@code n < 2^63} with {@code R = 2^64}.
+     */
+    private static final class Montgomery {
+        private final long n;
+        private final long negInverse;
+        private final long one;
+        private final long rSquared;
+
+        Montgomery(long n) {
+            this.n = n;
+            long inverse = n;
+            for (int i = 0; i < 5; i++) {
+                inverse *= 2 - n * inverse;
+            }
+            this.negInverse = -inverse;
+            this.one = Long.remainderUnsigned(-n, n);
+            long r = one;
+            for (int i = 0; i < 64; i++) {
+                r <<= 1;
+                if (Long.compareUnsigned(r, n) >= 0) r -= n;
+            }
+            this.rSquared = r;
+        }
+
+        long toMontgomery(long a) {
+            return multiply(a, rSquared);
+        }
+
+        long multiply(long a, long b) {
+            long lo = a * b;
+            long hi = Math.unsignedMultiplyHigh(a, b);
+            long m = lo * negInverse;
+            long t = hi + Math.unsignedMultiplyHigh(m, n) + (lo != 0 ? 1 : 0);
+            return Long.compareUnsigned(t, n) >= 0 ? t - n : t;
+        }
+
+        long pow(long base, long exponent) {
+            long result = one;
+            while (exponent > 0) {
+                if ((exponent & 1) != 0) result = multiply(result, base);
+                base = multiply(base, base);
+                exponent >>>= 1;
+            }
+            return result;
+        }
+    }
+}
@@ -8,8 +8,8 @@ import java.util.stream.Gatherer;
 import java.util.stream.IntStream;
 
 public class PrimeOrTenGatherer {
-    public static void main(String[] args) {
-        var gatherer = new Gatherer<Integer, ArrayList<Integer>, List<Integer>>() {
+    static Gatherer<Integer, ArrayList<Integer>, List<Integer>> gatherer() {
+        return new Gatherer<>() {
 
             @Override
             public Supplier<ArrayList<Integer>> initializer() {
@@ -43,6 +43,9 @@ public class PrimeOrTenGatherer {
                 };
             }
         };
-        System.out.println(IntStream.rangeClosed(1, 100).boxed().gather(gatherer).collect(Collectors.toList()));
+    }
+
+    public static void main(String[] args) {
+        System.out.println(IntStream.rangeClosed(1, 100).boxed().gather(gatherer()).collect(Collectors.toList()));
     }
 }
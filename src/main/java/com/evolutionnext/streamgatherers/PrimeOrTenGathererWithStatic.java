@@ -28,13 +28,14 @@ public class PrimeOrTenGathererWithStatic {
         return true;
     };
 
-    public static void main(String[] args) {
-        Gatherer<Integer, ArrayList<Integer>, List<Integer>> gatherer =
-            Gatherer.of(ArrayList::new, integrator, (integers, integers2) -> {
-                integers.addAll(integers2);
-                return integers;
-            }, (integers, downstream) -> downstream.push(integers));
+    static Gatherer<Integer, ArrayList<Integer>, List<Integer>> gatherer() {
+        return Gatherer.of(ArrayList::new, integrator, (integers, integers2) -> {
+            integers.addAll(integers2);
+            return integers;
+        }, (integers, downstream) -> downstream.push(integers));
+    }
 
-        System.out.println(IntStream.rangeClosed(1, 100).boxed().gather(gatherer).collect(Collectors.toList()));
+    public static void main(String[] args) {
+        System.out.println(IntStream.rangeClosed(1, 100).boxed().gather(gatherer()).collect(Collectors.toList()));
     }
 }
@@ -0,0 +1,59 @@
+package com.evolutionnext.streamgatherers;
+
+import java.util.Arrays;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongPredicate;
+import java.util.stream.Gatherer;
+import java.util.stream.IntStream;
+
+/**
+ * Bundles integers until a predicate on the running aggregate fires or the bundle reaches
+ * {@code maxSize}. The aggregate is folded in as each element arrives instead of being
+ * re-summed, and each bundle is handed downstream as a compact {@link IntChunk}.
+ * A trailing, non-empty bundle is emitted by the finisher.
+ */
+public class RunningSumGatherer {
+
+    public static Gatherer<Integer, ?, IntChunk> primeOrTen() {
+        return summing(10, PrimalityOracle::isPrime);
+    }
+
+    public static Gatherer<Integer, ?, IntChunk> summing(int maxSize, LongPredicate trigger) {
+        return aggregating(maxSize, 0L, Long::sum, trigger);
+    }
+
+    public static Gatherer<Integer, ?, IntChunk> aggregating(int maxSize, long identity,
+                                                             LongBinaryOperator aggregator,
+                                                             LongPredicate trigger) {
+        if (maxSize < 1) throw new IllegalArgumentException("Bundle size must be positive: " + maxSize);
+        class State {
+            int[] buffer = new int[maxSize];
+            int count;
+            long aggregate = identity;
+        }
+        return Gatherer.ofSequential(State::new,
+            Gatherer.Integrator.ofGreedy((state, element, downstream) -> {
+                int value = element;
+                state.buffer[state.count++] = value;
+                state.aggregate = aggregator.applyAsLong(state.aggregate, value);
+                if (state.count < maxSize && !trigger.test(state.aggregate)) return true;
+                IntChunk chunk;
+                if (state.count == maxSize) {
+                    chunk = new IntChunk(state.buffer, maxSize);
+                    state.buffer = new int[maxSize];
+                } else {
+                    chunk = new IntChunk(Arrays.copyOf(state.buffer, state.count), state.count);
+                }
+                state.count = 0;
+                state.aggregate = identity;
+                return downstream.push(chunk);
+            }),
+            (state, downstream) -> {
+                if (state.count > 0) downstream.push(new IntChunk(state.buffer, state.count));
+            });
+    }
+
+    public static void main(String[] args) {
+        System.out.println(IntStream.rangeClosed(1, 100).boxed().gather(primeOrTen()).toList());
+    }
+}
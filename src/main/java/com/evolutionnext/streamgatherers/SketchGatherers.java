@@ -0,0 +1,61 @@
+package com.evolutionnext.streamgatherers;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Gatherer;
+
+/**
+ * Distinct counts with {@link HyperLogLog} and quantiles with {@link KllSketch}, as
+ * collectors and as gatherers. The sketches merge in the combiner, so they scale on parallel
+ * streams, and the per-key variants run them inside {@code GroupBy.groupByCollecting} so each
+ * key holds a fixed-size sketch rather than a list of its elements.
+ */
+public final class SketchGatherers {
+
+    private SketchGatherers() {
+    }
+
+    public static <T> Collector<T, HyperLogLog, HyperLogLog> hyperLogLog(int precision) {
+        return Collector.of(() -> new HyperLogLog(precision), HyperLogLog::add, HyperLogLog::merge,
+            Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    public static <T> Collector<T, KllSketch, KllSketch> kll(int k, ToDoubleFunction<? super T> mapper) {
+        return Collector.of(() -> new KllSketch(k), (sketch, element) -> sketch.add(mapper.applyAsDouble(element)),
+            KllSketch::merge, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    public static <T> Gatherer<T, ?, Long> distinctCount(int precision) {
+        return fromCollector(Collectors.collectingAndThen(hyperLogLog(precision), HyperLogLog::estimate));
+    }
+
+    public static <T> Gatherer<T, ?, KllSketch> quantiles(int k, ToDoubleFunction<? super T> mapper) {
+        return fromCollector(kll(k, mapper));
+    }
+
+    public static <T, K, V> Gatherer<T, ?, Map.Entry<K, Long>> distinctCountPerKey(Function<T, K> keyFunction,
+                                                                                 Function<? super T, ? extends V> valueFunction,
+                                                                                 int precision) {
+        return GroupByGatherer.GroupBy.groupByCollecting(keyFunction,
+            Collectors.mapping(valueFunction, Collectors.collectingAndThen(hyperLogLog(precision), HyperLogLog::estimate)));
+    }
+
+    public static <T, K> Gatherer<T, ?, Map.Entry<K, KllSketch>> quantilesPerKey(Function<T, K> keyFunction, int k,
+                                                                               ToDoubleFunction<? super T> mapper) {
+        return GroupByGatherer.GroupBy.groupByCollecting(keyFunction, kll(k, mapper));
+    }
+
+    private static <T, A, R> Gatherer<T, A, R> fromCollector(Collector<T, A, R> collector) {
+        return Gatherer.of(
+            collector.supplier(),
+            Gatherer.Integrator.ofGreedy((state, element, _) -> {
+                collector.accumulator().accept(state, element);
+                return true;
+            }),
+            collector.combiner(),
+            (state, downstream) -> downstream.push(collector.finisher().apply(state)));
+    }
+}
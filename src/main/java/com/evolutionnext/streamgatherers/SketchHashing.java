@@ -0,0 +1,24 @@
+package com.evolutionnext.streamgatherers;
+
+/**
+ * The hash the sketches share: {@code hashCode} spread over 64 bits by the MurmurHash3
+ * finaliser, so that nearby hash codes land on unrelated bits.
+ */
+final class SketchHashing {
+
+    private SketchHashing() {
+    }
+
+    static long hash(Object element) {
+        return mix(element == null ? 0 : element.hashCode());
+    }
+
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
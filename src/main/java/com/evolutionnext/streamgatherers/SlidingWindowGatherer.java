@@ -0,0 +1,217 @@
+package com.evolutionnext.streamgatherers;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Gatherer;
+
+/**
+ * Sliding windows over a ring buffer, without the per-element copy of
+ * {@code Gatherers.windowSliding}. Windows follow the same rules: one per element once
+ * {@code size} elements have been seen, or a single partial window for a shorter stream.
+ */
+public final class SlidingWindowGatherer {
+
+    private SlidingWindowGatherer() {
+    }
+
+    /**
+     * Receives each element as it enters the window and again as it leaves it.
+     */
+    public interface WindowAggregator<T, R> {
+        void add(T element);
+
+        void evict(T element);
+
+        R result();
+    }
+
+    /**
+     * Emits a read-only view of the window. The same view is reused and moves with the
+     * stream, so it is only valid until downstream returns; copy it to keep it.
+     */
+    public static <T> Gatherer<T, ?, List<T>> windowViews(int size) {
+        checkSize(size);
+        return Gatherer.<T, Ring<T>, List<T>>ofSequential(
+            () -> new Ring<>(size),
+            Gatherer.Integrator.ofGreedy((ring, element, downstream) -> {
+                ring.add(element);
+                return ring.count < size || downstream.push(ring.view);
+            }),
+            (ring, downstream) -> {
+                if (ring.count > 0 && ring.count < size) downstream.push(ring.view);
+            });
+    }
+
+    public static <T, R> Gatherer<T, ?, R> windowAggregate(int size, Supplier<? extends WindowAggregator<T, R>> aggregator) {
+        checkSize(size);
+        class State {
+            final Ring<T> ring = new Ring<>(size);
+            final WindowAggregator<T, R> window = aggregator.get();
+        }
+        return Gatherer.<T, State, R>ofSequential(
+            State::new,
+            Gatherer.Integrator.ofGreedy((state, element, downstream) -> {
+                if (state.ring.count >= size) state.window.evict(state.ring.oldest());
+                state.ring.add(element);
+                state.window.add(element);
+                return state.ring.count < size || downstream.push(state.window.result());
+            }),
+            (state, downstream) -> {
+                if (state.ring.count > 0 && state.ring.count < size) downstream.push(state.window.result());
+            });
+    }
+
+    public static <T> Gatherer<T, ?, Long> movingSum(int size, ToLongFunction<? super T> mapper) {
+        checkSize(size);
+        class State {
+            final long[] values = new long[size];
+            long count;
+            long sum;
+        }
+        return Gatherer.<T, State, Long>ofSequential(
+            State::new,
+            Gatherer.Integrator.ofGreedy((state, element, downstream) -> {
+                int slot = (int) (state.count % size);
+                long value = mapper.applyAsLong(element);
+                state.sum += value - state.values[slot];
+                state.values[slot] = value;
+                return ++state.count < size || downstream.push(state.sum);
+            }),
+            (state, downstream) -> {
+                if (state.count > 0 && state.count < size) downstream.push(state.sum);
+            });
+    }
+
+    /**
+     * The running sum is rebuilt from the buffer every {@code size} elements, so rounding error
+     * from adding and subtracting cannot build up over a long stream.
+     */
+    public static <T> Gatherer<T, ?, Double> movingMean(int size, ToDoubleFunction<? super T> mapper) {
+        checkSize(size);
+        class State {
+            final double[] values = new double[size];
+            long count;
+            double sum;
+
+            double mean() {
+                return sum / Math.min(count, size);
+            }
+        }
+        return Gatherer.<T, State, Double>ofSequential(
+            State::new,
+            Gatherer.Integrator.ofGreedy((state, element, downstream) -> {
+                int slot = (int) (state.count % size);
+                double value = mapper.applyAsDouble(element);
+                state.sum += value - state.values[slot];
+                state.values[slot] = value;
+                if (++state.count % size == 0) {
+                    double exact = 0;
+                    for (double v : state.values) exact += v;
+                    state.sum = exact;
+                }
+                return state.count < size || downstream.push(state.mean());
+            }),
+            (state, downstream) -> {
+                if (state.count > 0 && state.count < size) downstream.push(state.mean());
+            });
+    }
+
+    public static <T> Gatherer<T, ?, Double> movingMin(int size, ToDoubleFunction<? super T> mapper) {
+        return extremum(size, mapper, false);
+    }
+
+    public static <T> Gatherer<T, ?, Double> movingMax(int size, ToDoubleFunction<? super T> mapper) {
+        return extremum(size, mapper, true);
+    }
+
+    private static <T> Gatherer<T, ?, Double> extremum(int size, ToDoubleFunction<? super T> mapper, boolean max) {
+        checkSize(size);
+        return Gatherer.<T, MonotonicDeque, Double>ofSequential(
+            () -> new MonotonicDeque(size, max),
+            Gatherer.Integrator.ofGreedy((deque, element, downstream) -> {
+                deque.add(mapper.applyAsDouble(element));
+                return deque.count < size || downstream.push(deque.extremum());
+            }),
+            (deque, downstream) -> {
+                if (deque.count > 0 && deque.count < size) downstream.push(deque.extremum());
+            });
+    }
+
+    private static void checkSize(int size) {
+        if (size < 1) throw new IllegalArgumentException("Window size must be positive: " + size);
+    }
+
+    private static final class Ring<T> {
+        private final Object[] elements;
+        private final View view = new View();
+        private long count;
+
+        Ring(int size) {
+            this.elements = new Object[size];
+        }
+
+        void add(T element) {
+            elements[(int) (count++ % elements.length)] = element;
+        }
+
+        @SuppressWarnings("unchecked")
+        T oldest() {
+            return (T) elements[(int) (count % elements.length)];
+        }
+
+        private final class View extends AbstractList<T> implements RandomAccess {
+            @Override
+            @SuppressWarnings("unchecked")
+            public T get(int index) {
+                int size = size();
+                if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+                return (T) elements[(int) ((count - size + index) % elements.length)];
+            }
+
+            @Override
+            public int size() {
+                return (int) Math.min(count, elements.length);
+            }
+        }
+    }
+
+    /**
+     * Keeps the indices of the candidates for the window minimum (or maximum) in a ring,
+     * ordered so the front is the answer. Each index is pushed and popped at most once,
+     * which makes every update amortised O(1).
+     */
+    private static final class MonotonicDeque {
+        private final double[] values;
+        private final long[] indices;
+        private final boolean max;
+        private long count;
+        private long head;
+        private long tail;
+
+        MonotonicDeque(int size, boolean max) {
+            this.values = new double[size];
+            this.indices = new long[size];
+            this.max = max;
+        }
+
+        void add(double value) {
+            int size = values.length;
+            while (tail > head && dominated(values[(int) (indices[(int) ((tail - 1) % size)] % size)], value)) tail--;
+            if (tail > head && indices[(int) (head % size)] <= count - size) head++;
+            values[(int) (count % size)] = value;
+            indices[(int) (tail++ % size)] = count++;
+        }
+
+        private boolean dominated(double candidate, double value) {
+            return max ? candidate <= value : candidate >= value;
+        }
+
+        double extremum() {
+            return values[(int) (indices[(int) (head % values.length)] % values.length)];
+        }
+    }
+}
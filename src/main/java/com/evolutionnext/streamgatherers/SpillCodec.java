@@ -0,0 +1,76 @@
+package com.evolutionnext.streamgatherers;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes values to and reads them back from spill files, see {@link SpillingGroupByGatherer}.
+ */
+public interface SpillCodec<T> {
+
+    void write(T value, DataOutput out) throws IOException;
+
+    T read(DataInput in) throws IOException;
+
+    static SpillCodec<Integer> ints() {
+        return new SpillCodec<>() {
+            @Override
+            public void write(Integer value, DataOutput out) throws IOException {
+                out.writeInt(value);
+            }
+
+            @Override
+            public Integer read(DataInput in) throws IOException {
+                return in.readInt();
+            }
+        };
+    }
+
+    static SpillCodec<Long> longs() {
+        return new SpillCodec<>() {
+            @Override
+            public void write(Long value, DataOutput out) throws IOException {
+                out.writeLong(value);
+            }
+
+            @Override
+            public Long read(DataInput in) throws IOException {
+                return in.readLong();
+            }
+        };
+    }
+
+    static SpillCodec<Double> doubles() {
+        return new SpillCodec<>() {
+            @Override
+            public void write(Double value, DataOutput out) throws IOException {
+                out.writeDouble(value);
+            }
+
+            @Override
+            public Double read(DataInput in) throws IOException {
+                return in.readDouble();
+            }
+        };
+    }
+
+    static SpillCodec<String> strings() {
+        return new SpillCodec<>() {
+            @Override
+            public void write(String value, DataOutput out) throws IOException {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            @Override
+            public String read(DataInput in) throws IOException {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+}
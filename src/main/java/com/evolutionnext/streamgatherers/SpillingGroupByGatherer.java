@@ -0,0 +1,295 @@
+package com.evolutionnext.streamgatherers;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Gatherer;
+
+public class SpillingGroupByGatherer {
+
+    /**
+     * A {@link GroupByGatherer.GroupBy} that keeps at most {@code maxInMemory} elements on the heap.
+     * Past that budget the buffered groups are sorted by key and written to a temporary run file,
+     * which is memory-mapped and unlinked right away. The finisher merges all runs by key and emits
+     * each group, in key order, as an {@link Iterable} that decodes its elements from the mapped
+     * runs on demand, in encounter order. Runs are capped at 1 GiB so each one fits a single mapping.
+     */
+    public static class SpillingGroupBy<T, K> implements Gatherer<T, SpillingGroupBy.State<T, K>, Map.Entry<K, Iterable<T>>> {
+
+        private static final int MAX_RUN_BYTES = 1 << 30;
+
+        private final Function<T, K> groupFunction;
+        private final Comparator<? super K> keyOrder;
+        private final SpillCodec<K> keyCodec;
+        private final SpillCodec<T> valueCodec;
+        private final int maxInMemory;
+        private final Path spillDirectory;
+
+        public SpillingGroupBy(Function<T, K> groupFunction, Comparator<? super K> keyOrder,
+                               SpillCodec<K> keyCodec, SpillCodec<T> valueCodec,
+                               int maxInMemory, Path spillDirectory) {
+            if (maxInMemory < 1) throw new IllegalArgumentException("maxInMemory must be positive: " + maxInMemory);
+            this.groupFunction = groupFunction;
+            this.keyOrder = keyOrder;
+            this.keyCodec = keyCodec;
+            this.valueCodec = valueCodec;
+            this.maxInMemory = maxInMemory;
+            this.spillDirectory = spillDirectory;
+        }
+
+        public static <T, K extends Comparable<? super K>> SpillingGroupBy<T, K> spillingGroupBy(
+            Function<T, K> groupFunction, SpillCodec<K> keyCodec, SpillCodec<T> valueCodec, int maxInMemory) {
+            return new SpillingGroupBy<>(groupFunction, Comparator.naturalOrder(), keyCodec, valueCodec, maxInMemory,
+                Path.of(System.getProperty("java.io.tmpdir")));
+        }
+
+        static final class State<T, K> {
+            private final HashMap<K, List<T>> groups = new HashMap<>();
+            private final List<ByteBuffer> runs = new ArrayList<>();
+            private int buffered;
+        }
+
+        @Override
+        public Supplier<State<T, K>> initializer() {
+            return State::new;
+        }
+
+        @Override
+        public Integrator<State<T, K>, T, Map.Entry<K, Iterable<T>>> integrator() {
+            return Integrator.ofGreedy((state, element, _) -> {
+                state.groups.computeIfAbsent(groupFunction.apply(element), _ -> new ArrayList<>()).add(element);
+                if (++state.buffered >= maxInMemory) spill(state);
+                return true;
+            });
+        }
+
+        @Override
+        public BiConsumer<State<T, K>, Downstream<? super Map.Entry<K, Iterable<T>>>> finisher() {
+            return (state, downstream) -> {
+                if (state.runs.isEmpty()) {
+                    for (K key : sortedKeys(state)) {
+                        Iterable<T> group = Collections.unmodifiableList(state.groups.get(key));
+                        if (!downstream.push(new AbstractMap.SimpleImmutableEntry<>(key, group))) return;
+                    }
+                    return;
+                }
+                if (!state.groups.isEmpty()) spill(state);
+                merge(state.runs, downstream);
+            };
+        }
+
+        private List<K> sortedKeys(State<T, K> state) {
+            List<K> keys = new ArrayList<>(state.groups.keySet());
+            keys.sort(keyOrder);
+            return keys;
+        }
+
+        private void spill(State<T, K> state) {
+            try {
+                ByteArrayOutputStream groupBytes = new ByteArrayOutputStream();
+                DataOutputStream groupOut = new DataOutputStream(groupBytes);
+                Path file = null;
+                DataOutputStream out = null;
+                try {
+                    for (K key : sortedKeys(state)) {
+                        List<T> values = state.groups.get(key);
+                        groupBytes.reset();
+                        for (T value : values) valueCodec.write(value, groupOut);
+                        if (out != null && (long) out.size() + groupBytes.size() > MAX_RUN_BYTES) {
+                            out.close();
+                            out = null;
+                            state.runs.add(mapAndUnlink(file));
+                            file = null;
+                        }
+                        if (out == null) {
+                            file = Files.createTempFile(spillDirectory, "groupby-", ".run");
+                            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+                        }
+                        keyCodec.write(key, out);
+                        out.writeInt(values.size());
+                        out.writeInt(groupBytes.size());
+                        groupBytes.writeTo(out);
+                    }
+                    if (out != null) {
+                        out.close();
+                        out = null;
+                        state.runs.add(mapAndUnlink(file));
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // A run cut short by a failing codec is never mapped
+                    discard(file, out, e);
+                    throw e;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to spill groups to " + spillDirectory, e);
+            }
+            state.groups.clear();
+            state.buffered = 0;
+        }
+
+        private static void discard(Path file, DataOutputStream out, Exception failure) {
+            try {
+                if (out != null) out.close();
+            } catch (IOException e) {
+                failure.addSuppressed(e);
+            }
+            try {
+                if (file != null) Files.deleteIfExists(file);
+            } catch (IOException e) {
+                failure.addSuppressed(e);
+            }
+        }
+
+        private static ByteBuffer mapAndUnlink(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } finally {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException _) {
+                    // Platforms that refuse to delete a mapped file clean it up on exit instead
+                    file.toFile().deleteOnExit();
+                }
+            }
+        }
+
+        private void merge(List<ByteBuffer> runs, Downstream<? super Map.Entry<K, Iterable<T>>> downstream) {
+            PriorityQueue<RunCursor> queue = new PriorityQueue<>(
+                Comparator.<RunCursor, K>comparing(c -> c.key, keyOrder).thenComparingInt(c -> c.run));
+            for (int i = 0; i < runs.size(); i++) {
+                RunCursor cursor = new RunCursor(runs.get(i), i);
+                if (cursor.advance()) queue.add(cursor);
+            }
+            while (!queue.isEmpty()) {
+                RunCursor first = queue.poll();
+                K key = first.key;
+                List<ByteBuffer> segments = new ArrayList<>();
+                segments.add(first.segment);
+                if (first.advance()) queue.add(first);
+                while (!queue.isEmpty() && keyOrder.compare(queue.peek().key, key) == 0) {
+                    RunCursor next = queue.poll();
+                    segments.add(next.segment);
+                    if (next.advance()) queue.add(next);
+                }
+                if (!downstream.push(new AbstractMap.SimpleImmutableEntry<>(key, new SpilledGroup<>(segments, valueCodec)))) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Walks the groups of one run, each laid out as key, element count, byte length and elements.
+         */
+        private final class RunCursor {
+            private final ByteBuffer buffer;
+            private final DataInputStream in;
+            private final int run;
+            private K key;
+            private ByteBuffer segment;
+
+            RunCursor(ByteBuffer run, int index) {
+                this.buffer = run.duplicate();
+                this.in = new DataInputStream(new ByteBufferInputStream(buffer));
+                this.run = index;
+            }
+
+            boolean advance() {
+                if (!buffer.hasRemaining()) return false;
+                try {
+                    key = keyCodec.read(in);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                buffer.getInt();
+                int length = buffer.getInt();
+                segment = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * A group whose elements stay in the mapped run files and are decoded while iterating.
+     */
+    private record SpilledGroup<T>(List<ByteBuffer> segments, SpillCodec<T> codec) implements Iterable<T> {
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<>() {
+                private final Iterator<ByteBuffer> remainingSegments = segments.iterator();
+                private ByteBuffer current = ByteBuffer.allocate(0);
+                private DataInputStream in;
+
+                @Override
+                public boolean hasNext() {
+                    while (!current.hasRemaining() && remainingSegments.hasNext()) {
+                        current = remainingSegments.next().duplicate();
+                        in = new DataInputStream(new ByteBufferInputStream(current));
+                    }
+                    return current.hasRemaining();
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    try {
+                        return codec.read(in);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public String toString() {
+            List<T> values = new ArrayList<>();
+            forEach(values::add);
+            return values.toString();
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) return -1;
+            int n = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, n);
+            return n;
+        }
+    }
+}
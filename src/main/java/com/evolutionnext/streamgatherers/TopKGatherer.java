@@ -0,0 +1,266 @@
+package com.evolutionnext.streamgatherers;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.Gatherer;
+
+/**
+ * Gatherers that keep only a bounded summary of the stream instead of every element:
+ * the {@code k} greatest elements, overall or per key, and the approximate most frequent
+ * elements. All of them emit once the stream ends and merge per-split summaries in parallel.
+ */
+public final class TopKGatherer {
+
+    private TopKGatherer() {
+    }
+
+    /**
+     * Emits the {@code k} greatest elements, greatest first, holding at most {@code k}
+     * elements. Which of several equal elements make the cut is unspecified.
+     */
+    public static <T> Gatherer<T, ?, T> topK(int k, Comparator<? super T> comparator) {
+        checkK(k);
+        return Gatherer.<T, PriorityQueue<T>, T>of(
+            () -> new PriorityQueue<>(comparator),
+            Gatherer.Integrator.ofGreedy((heap, element, _) -> {
+                offer(heap, element, k, comparator);
+                return true;
+            }),
+            (left, right) -> {
+                for (T element : right) offer(left, element, k, comparator);
+                return left;
+            },
+            (heap, downstream) -> {
+                for (T element : descending(heap, comparator)) {
+                    if (!downstream.push(element)) return;
+                }
+            });
+    }
+
+    public static <T extends Comparable<? super T>> Gatherer<T, ?, T> topK(int k) {
+        return topK(k, Comparator.naturalOrder());
+    }
+
+    /**
+     * Emits the {@code k} greatest elements of every key, greatest first, holding at most
+     * {@code k} elements per key.
+     */
+    public static <T, K> Gatherer<T, ?, Map.Entry<K, List<T>>> topKPerKey(int k, Function<? super T, ? extends K> keyFunction,
+                                                                         Comparator<? super T> comparator) {
+        checkK(k);
+        return Gatherer.<T, HashMap<K, PriorityQueue<T>>, Map.Entry<K, List<T>>>of(
+            HashMap::new,
+            Gatherer.Integrator.ofGreedy((heaps, element, _) -> {
+                offer(heaps.computeIfAbsent(keyFunction.apply(element), _ -> new PriorityQueue<>(comparator)), element, k, comparator);
+                return true;
+            }),
+            (left, right) -> {
+                right.forEach((key, heap) -> left.merge(key, heap, (l, r) -> {
+                    for (T element : r) offer(l, element, k, comparator);
+                    return l;
+                }));
+                return left;
+            },
+            (heaps, downstream) -> {
+                for (Map.Entry<K, PriorityQueue<T>> entry : heaps.entrySet()) {
+                    List<T> top = descending(entry.getValue(), comparator);
+                    if (!downstream.push(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), top))) return;
+                }
+            });
+    }
+
+    /**
+     * Approximate frequent elements with the Space-Saving algorithm, tracking at most
+     * {@code capacity} elements. Any element occurring more than {@code n / capacity} times
+     * in a stream of {@code n} is reported, and each reported count overestimates the true
+     * count by at most {@link HeavyHitter#error()}. Emits most frequent first.
+     */
+    public static <T> Gatherer<T, ?, HeavyHitter<T>> heavyHitters(int capacity) {
+        checkK(capacity);
+        return Gatherer.<T, SpaceSaving<T>, HeavyHitter<T>>of(
+            () -> new SpaceSaving<>(capacity),
+            Gatherer.Integrator.ofGreedy((summary, element, _) -> {
+                summary.offer(element);
+                return true;
+            }),
+            SpaceSaving::merge,
+            (summary, downstream) -> {
+                for (HeavyHitter<T> hitter : summary.hitters()) {
+                    if (!downstream.push(hitter)) return;
+                }
+            });
+    }
+
+    /**
+     * Folds the stream into a {@link CountMinSketch} whose estimates exceed the true counts by
+     * at most {@code epsilon} times the stream length, with probability {@code 1 - delta}.
+     */
+    public static <T> Gatherer<T, ?, CountMinSketch<T>> countMinSketch(double epsilon, double delta) {
+        return Gatherer.<T, CountMinSketch<T>, CountMinSketch<T>>of(
+            () -> new CountMinSketch<>(epsilon, delta),
+            Gatherer.Integrator.ofGreedy((sketch, element, _) -> {
+                sketch.add(element);
+                return true;
+            }),
+            CountMinSketch::merge,
+            (sketch, downstream) -> downstream.push(sketch));
+    }
+
+    public record HeavyHitter<T>(T element, long count, long error) {}
+
+    private static void checkK(int k) {
+        if (k < 1) throw new IllegalArgumentException("k must be positive: " + k);
+    }
+
+    private static <T> void offer(PriorityQueue<T> heap, T element, int k, Comparator<? super T> comparator) {
+        if (heap.size() < k) {
+            heap.add(element);
+        } else if (comparator.compare(element, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(element);
+        }
+    }
+
+    private static <T> List<T> descending(PriorityQueue<T> heap, Comparator<? super T> comparator) {
+        List<T> sorted = new ArrayList<>(heap);
+        sorted.sort(comparator.reversed());
+        return sorted;
+    }
+
+    /**
+     * Counters live in fixed slots; {@code heap} orders the slots as a min-heap by count and
+     * {@code position} maps each slot back to its place in the heap, so an increment is one
+     * sift and the counter to evict is always at the root.
+     */
+    private static final class SpaceSaving<T> {
+        private final int capacity;
+        private final HashMap<T, Integer> slots = new HashMap<>();
+        private final Object[] elements;
+        private final long[] counts;
+        private final long[] errors;
+        private final int[] heap;
+        private final int[] position;
+        private int size;
+
+        SpaceSaving(int capacity) {
+            this.capacity = capacity;
+            this.elements = new Object[capacity];
+            this.counts = new long[capacity];
+            this.errors = new long[capacity];
+            this.heap = new int[capacity];
+            this.position = new int[capacity];
+        }
+
+        void offer(T element) {
+            offer(element, 1, 0);
+        }
+
+        private void offer(T element, long count, long error) {
+            Integer slot = slots.get(element);
+            if (slot != null) {
+                counts[slot] += count;
+                errors[slot] += error;
+                siftDown(position[slot]);
+            } else if (size < capacity) {
+                int free = size++;
+                set(free, element, count, error);
+                heap[free] = free;
+                position[free] = free;
+                siftUp(free);
+            } else {
+                int evicted = heap[0];
+                long floor = counts[evicted];
+                slots.remove(elements[evicted]);
+                set(evicted, element, floor + count, floor + error);
+                siftDown(0);
+            }
+        }
+
+        private void set(int slot, T element, long count, long error) {
+            elements[slot] = element;
+            counts[slot] = count;
+            errors[slot] = error;
+            slots.put(element, slot);
+        }
+
+        private long floor() {
+            return size < capacity ? 0 : counts[heap[0]];
+        }
+
+        /**
+         * The mergeable-summaries rule: an element missing from one side may have occurred
+         * there up to that side's minimum count, so that minimum is added to its count and error.
+         */
+        SpaceSaving<T> merge(SpaceSaving<T> other) {
+            long floor = floor();
+            long otherFloor = other.floor();
+            HashMap<T, long[]> merged = new HashMap<>();
+            for (int slot = 0; slot < size; slot++) {
+                merged.put(element(slot), new long[]{counts[slot] + otherFloor, errors[slot] + otherFloor});
+            }
+            for (int slot = 0; slot < other.size; slot++) {
+                long[] counted = merged.get(other.element(slot));
+                if (counted == null) {
+                    merged.put(other.element(slot), new long[]{other.counts[slot] + floor, other.errors[slot] + floor});
+                } else {
+                    counted[0] += other.counts[slot] - otherFloor;
+                    counted[1] += other.errors[slot] - otherFloor;
+                }
+            }
+            SpaceSaving<T> result = new SpaceSaving<>(capacity);
+            merged.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<T, long[]> e) -> e.getValue()[0]).reversed())
+                .limit(capacity)
+                .forEach(e -> result.offer(e.getKey(), e.getValue()[0], e.getValue()[1]));
+            return result;
+        }
+
+        List<HeavyHitter<T>> hitters() {
+            List<HeavyHitter<T>> hitters = new ArrayList<>(size);
+            for (int slot = 0; slot < size; slot++) hitters.add(new HeavyHitter<>(element(slot), counts[slot], errors[slot]));
+            hitters.sort(Comparator.comparingLong((HeavyHitter<T> h) -> h.count()).reversed());
+            return hitters;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T element(int slot) {
+            return (T) elements[slot];
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (counts[heap[parent]] <= counts[heap[index]]) return;
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && counts[heap[left]] < counts[heap[smallest]]) smallest = left;
+                if (right < size && counts[heap[right]] < counts[heap[smallest]]) smallest = right;
+                if (smallest == index) return;
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int slot = heap[i];
+            heap[i] = heap[j];
+            heap[j] = slot;
+            position[heap[i]] = i;
+            position[heap[j]] = j;
+        }
+    }
+}
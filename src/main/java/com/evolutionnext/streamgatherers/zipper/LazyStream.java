@@ -0,0 +1,177 @@
+package com.evolutionnext.streamgatherers.zipper;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A lazily evaluated, memoized cons list, after Scala's {@code LazyList} and its {@code #::}.
+ * Each cell's first published result is remembered, so a definition that refers to itself, such as
+ * <pre>{@code
+ * LazyStream.fix(fib -> cons(0, () -> cons(1, () -> fib.zipWith(fib.tail(), Integer::sum))))
+ * }</pre>
+ * produces each element in constant time. Cells that are no longer referenced can be
+ * collected, so walking {@link #stream()} keeps only a constant number of cells alive.
+ * <p>
+ * A cell is evaluated without holding any lock, so threads walking overlapping streams cannot
+ * deadlock; if two of them race on the same cell both compute it, but only the first result
+ * published is ever returned, so every caller sees the same cells.
+ * A cell whose evaluation needs itself, such as {@code fix(s -> s)}, throws
+ * {@link IllegalStateException} instead of recursing until the stack overflows.
+ */
+public final class LazyStream<T> {
+
+    private record Cell<T>(T head, LazyStream<T> tail) {
+    }
+
+    /**
+     * Marks a cell being computed by {@code owner}, keeping the thunk for other threads.
+     */
+    private record Evaluating(Thread owner, Supplier<?> thunk) {
+    }
+
+    private static final Object NO_CELL = new Object();
+    private static final LazyStream<?> EMPTY = new LazyStream<>(NO_CELL);
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(LazyStream.class, "state", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * The unevaluated thunk, an {@link Evaluating} marker, or the result: a {@link Cell}, or
+     * {@link #NO_CELL} for the empty stream. Dropping the thunk once evaluated lets whatever
+     * it captured be collected.
+     */
+    private volatile Object state;
+
+    private LazyStream(Object state) {
+        this.state = state;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> LazyStream<T> empty() {
+        return (LazyStream<T>) EMPTY;
+    }
+
+    public static <T> LazyStream<T> cons(T head, Supplier<LazyStream<T>> tail) {
+        return new LazyStream<>(new Cell<>(head, lazy(tail)));
+    }
+
+    public static <T> LazyStream<T> lazy(Supplier<LazyStream<T>> deferred) {
+        return new LazyStream<>((Supplier<Cell<T>>) () -> deferred.get().cell());
+    }
+
+    /**
+     * Ties the knot for a self-referential definition: {@code definition} receives the
+     * stream it is defining and must only use it lazily, e.g. inside a {@link #cons} tail.
+     */
+    public static <T> LazyStream<T> fix(UnaryOperator<LazyStream<T>> definition) {
+        @SuppressWarnings("unchecked")
+        LazyStream<T>[] self = new LazyStream[1];
+        self[0] = definition.apply(lazy(() -> self[0]));
+        return self[0];
+    }
+
+    public boolean isEmpty() {
+        return cell() == null;
+    }
+
+    public T head() {
+        Cell<T> c = cell();
+        if (c == null) throw new NoSuchElementException("head of empty stream");
+        return c.head();
+    }
+
+    public LazyStream<T> tail() {
+        Cell<T> c = cell();
+        if (c == null) throw new UnsupportedOperationException("tail of empty stream");
+        return c.tail();
+    }
+
+    public <U, R> LazyStream<R> zipWith(LazyStream<U> other, BiFunction<? super T, ? super U, ? extends R> zipperFunction) {
+        return new LazyStream<>((Supplier<Cell<R>>) () -> {
+            Cell<T> left = cell();
+            Cell<U> right = other.cell();
+            if (left == null || right == null) return null;
+            return new Cell<>(zipperFunction.apply(left.head(), right.head()),
+                left.tail().zipWith(right.tail(), zipperFunction));
+        });
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(new Cursor<>(this), false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cell<T> cell() {
+        while (true) {
+            Object current = state;
+            if (current instanceof Cell<?> || current == NO_CELL) return result(current);
+            Object marker;
+            Supplier<Cell<T>> thunk;
+            if (current instanceof Evaluating evaluating) {
+                if (evaluating.owner() == Thread.currentThread()) {
+                    throw new IllegalStateException("LazyStream cell depends on itself; refer to the stream only lazily, e.g. in a cons tail");
+                }
+                marker = evaluating;
+                thunk = (Supplier<Cell<T>>) evaluating.thunk();
+            } else {
+                thunk = (Supplier<Cell<T>>) current;
+                marker = new Evaluating(Thread.currentThread(), thunk);
+                if (!STATE.compareAndSet(this, current, marker)) continue;
+            }
+            Cell<T> computed;
+            try {
+                computed = thunk.get();
+            } catch (RuntimeException | Error e) {
+                // Leave the cell unevaluated so a later call can try again
+                if (marker != current) STATE.compareAndSet(this, marker, thunk);
+                throw e;
+            }
+            Object witness = STATE.compareAndExchange(this, marker, computed == null ? NO_CELL : computed);
+            if (witness == marker) return computed;
+            if (witness instanceof Cell<?> || witness == NO_CELL) return result(witness);
+            // Otherwise the owner failed and restored the thunk, or another evaluation began; retry
+            // rather than hand out a cell no other caller will see
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Cell<T> result(Object evaluated) {
+        return evaluated == NO_CELL ? null : (Cell<T>) evaluated;
+    }
+
+    /**
+     * Walks the cells without holding on to the start of the stream.
+     */
+    private static final class Cursor<T> extends Spliterators.AbstractSpliterator<T> {
+        private LazyStream<T> current;
+
+        Cursor(LazyStream<T> start) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.current = start;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            Cell<T> c = current.cell();
+            if (c == null) return false;
+            current = c.tail();
+            action.accept(c.head());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.evolutionnext.streamgatherers.zipper;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Gatherer;
+import java.util.stream.Stream;
+
+/**
+ * Sort-merge join of the upstream against {@code other}; both must be sorted by key.
+ * Only the run of right-hand elements sharing the current key is buffered, so memory is
+ * bounded by the largest duplicate run rather than by either side. The side that is missing
+ * in a left, right or outer join is passed to {@code joinFunction} as {@code null}.
+ */
+public record MergeJoiner<T1, T2, K, R>(Stream<T2> other,
+                                        Function<? super T1, ? extends K> leftKey,
+                                        Function<? super T2, ? extends K> rightKey,
+                                        Comparator<? super K> comparator,
+                                        JoinType joinType,
+                                        BiFunction<? super T1, ? super T2, ? extends R> joinFunction)
+    implements Gatherer<T1, MergeJoiner.State<T2, K>, R> {
+
+    public enum JoinType {
+        INNER, LEFT, RIGHT, OUTER;
+
+        boolean keepsLeft() {
+            return this == LEFT || this == OUTER;
+        }
+
+        boolean keepsRight() {
+            return this == RIGHT || this == OUTER;
+        }
+    }
+
+    static final class State<T2, K> {
+        private final Iterator<T2> right;
+        private final ArrayList<T2> group = new ArrayList<>();
+        private K groupKey;
+        private boolean groupMatched;
+        private T2 lookahead;
+        private boolean hasLookahead;
+        private boolean started;
+        private K lastLeftKey;
+        private boolean seenLeft;
+
+        State(Iterator<T2> right) {
+            this.right = right;
+        }
+    }
+
+    @Override
+    public Supplier<State<T2, K>> initializer() {
+        return () -> new State<>(other.iterator());
+    }
+
+    @Override
+    public Integrator<State<T2, K>, T1, R> integrator() {
+        return Integrator.of((state, element, downstream) -> {
+            K key = leftKey.apply(element);
+            if (state.seenLeft && comparator.compare(key, state.lastLeftKey) < 0) {
+                throw new IllegalStateException("Left side is not sorted: " + key + " after " + state.lastLeftKey);
+            }
+            state.lastLeftKey = key;
+            state.seenLeft = true;
+            if (!state.started) {
+                state.started = true;
+                loadGroup(state);
+            }
+            while (!state.group.isEmpty() && comparator.compare(state.groupKey, key) < 0) {
+                if (!emitUnmatchedGroup(state, downstream)) return false;
+                loadGroup(state);
+            }
+            if (!state.group.isEmpty() && comparator.compare(state.groupKey, key) == 0) {
+                state.groupMatched = true;
+                for (T2 match : state.group) {
+                    if (!downstream.push(joinFunction.apply(element, match))) return false;
+                }
+                return true;
+            }
+            if (joinType.keepsLeft()) return downstream.push(joinFunction.apply(element, null));
+            // Once the right side is used up no later left element can produce anything
+            return !state.group.isEmpty();
+        });
+    }
+
+    @Override
+    public BiConsumer<State<T2, K>, Downstream<? super R>> finisher() {
+        return (state, downstream) -> {
+            if (!joinType.keepsRight() || downstream.isRejecting()) return;
+            if (!state.started) {
+                state.started = true;
+                loadGroup(state);
+            }
+            while (!state.group.isEmpty()) {
+                if (!emitUnmatchedGroup(state, downstream)) return;
+                loadGroup(state);
+            }
+        };
+    }
+
+    private boolean emitUnmatchedGroup(State<T2, K> state, Downstream<? super R> downstream) {
+        if (!joinType.keepsRight() || state.groupMatched) return true;
+        for (T2 unmatched : state.group) {
+            if (!downstream.push(joinFunction.apply(null, unmatched))) return false;
+        }
+        return true;
+    }
+
+    private void loadGroup(State<T2, K> state) {
+        state.group.clear();
+        state.groupMatched = false;
+        if (!state.hasLookahead) {
+            if (!state.right.hasNext()) return;
+            state.lookahead = state.right.next();
+        }
+        state.hasLookahead = false;
+        state.groupKey = rightKey.apply(state.lookahead);
+        state.group.add(state.lookahead);
+        state.lookahead = null;
+        while (state.right.hasNext()) {
+            T2 next = state.right.next();
+            K nextKey = rightKey.apply(next);
+            int order = comparator.compare(nextKey, state.groupKey);
+            if (order < 0) {
+                throw new IllegalStateException("Right side is not sorted: " + nextKey + " after " + state.groupKey);
+            }
+            if (order > 0) {
+                state.lookahead = next;
+                state.hasLookahead = true;
+                return;
+            }
+            state.group.add(next);
+        }
+    }
+}
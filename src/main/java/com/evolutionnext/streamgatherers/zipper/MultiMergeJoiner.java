@@ -0,0 +1,206 @@
+package com.evolutionnext.streamgatherers.zipper;
+
+import com.evolutionnext.streamgatherers.zipper.MergeJoiner.JoinType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Gatherer;
+import java.util.stream.Stream;
+
+/**
+ * Sort-merge join of the upstream against any number of other streams, all sorted by key.
+ * For each key, the run of elements sharing it is buffered on every side and a row is emitted
+ * for every combination: the upstream element first, then one element of each other side in
+ * the order the sides were added. Memory is bounded by the largest duplicate run per side.
+ * <p>
+ * An inner join emits the keys every side has, a left join the keys the upstream has, and an
+ * outer join every key; a side without the key contributes {@code null}. There is no single
+ * right-hand side to keep, so {@link JoinType#RIGHT} is rejected: put that stream upstream and
+ * use a left join instead.
+ */
+public record MultiMergeJoiner<T, K, R>(Function<? super T, ? extends K> key,
+                                        List<Side<?, K>> sides,
+                                        Comparator<? super K> comparator,
+                                        JoinType joinType,
+                                        Function<? super List<Object>, ? extends R> joinFunction)
+    implements Gatherer<T, MultiMergeJoiner.State<T, K>, R> {
+
+    public record Side<S, K>(Stream<S> stream, Function<? super S, ? extends K> key) {}
+
+    public MultiMergeJoiner {
+        if (sides.isEmpty()) throw new IllegalArgumentException("At least one other side is required");
+        if (joinType == JoinType.RIGHT) throw new IllegalArgumentException("RIGHT is not supported for more than two sides");
+    }
+
+    static final class State<T, K> {
+        private final List<Cursor<?, K>> cursors;
+        private final ArrayList<T> run = new ArrayList<>();
+        private K runKey;
+        private boolean started;
+
+        State(List<Cursor<?, K>> cursors) {
+            this.cursors = cursors;
+        }
+    }
+
+    /**
+     * One other side: the run of elements sharing {@code groupKey}, and the first element past
+     * it. An empty group means the side is used up.
+     */
+    private static final class Cursor<S, K> {
+        private final Iterator<S> iterator;
+        private final Function<? super S, ? extends K> key;
+        private final Comparator<? super K> comparator;
+        private final ArrayList<Object> group = new ArrayList<>();
+        private K groupKey;
+        private S lookahead;
+        private boolean hasLookahead;
+
+        Cursor(Side<S, K> side, Comparator<? super K> comparator) {
+            this.iterator = side.stream().iterator();
+            this.key = side.key();
+            this.comparator = comparator;
+        }
+
+        boolean exhausted() {
+            return group.isEmpty();
+        }
+
+        void loadGroup() {
+            group.clear();
+            if (!hasLookahead) {
+                if (!iterator.hasNext()) return;
+                lookahead = iterator.next();
+            }
+            hasLookahead = false;
+            groupKey = key.apply(lookahead);
+            group.add(lookahead);
+            lookahead = null;
+            while (iterator.hasNext()) {
+                S next = iterator.next();
+                K nextKey = key.apply(next);
+                int order = comparator.compare(nextKey, groupKey);
+                if (order < 0) throw new IllegalStateException("Side is not sorted: " + nextKey + " after " + groupKey);
+                if (order > 0) {
+                    lookahead = next;
+                    hasLookahead = true;
+                    return;
+                }
+                group.add(next);
+            }
+        }
+    }
+
+    @Override
+    public Supplier<State<T, K>> initializer() {
+        return () -> {
+            List<Cursor<?, K>> cursors = new ArrayList<>(sides.size());
+            for (Side<?, K> side : sides) cursors.add(new Cursor<>(side, comparator));
+            return new State<>(cursors);
+        };
+    }
+
+    @Override
+    public Integrator<State<T, K>, T, R> integrator() {
+        return Integrator.of((state, element, downstream) -> {
+            start(state);
+            K elementKey = key.apply(element);
+            if (!state.run.isEmpty()) {
+                int order = comparator.compare(elementKey, state.runKey);
+                if (order < 0) throw new IllegalStateException("Upstream is not sorted: " + elementKey + " after " + state.runKey);
+                if (order > 0 && !joinRun(state, downstream)) return false;
+            }
+            if (state.run.isEmpty()) state.runKey = elementKey;
+            state.run.add(element);
+            // A used-up side only ever had smaller keys, so no later upstream run can match all sides
+            return joinType != JoinType.INNER || state.cursors.stream().noneMatch(Cursor::exhausted);
+        });
+    }
+
+    @Override
+    public BiConsumer<State<T, K>, Downstream<? super R>> finisher() {
+        return (state, downstream) -> {
+            if (downstream.isRejecting()) return;
+            start(state);
+            if (!state.run.isEmpty() && !joinRun(state, downstream)) return;
+            if (joinType == JoinType.OUTER) advance(state, null, false, downstream);
+        };
+    }
+
+    private static void start(State<?, ?> state) {
+        if (state.started) return;
+        state.started = true;
+        for (Cursor<?, ?> cursor : state.cursors) cursor.loadGroup();
+    }
+
+    /**
+     * Joins the buffered upstream run with every side's group for its key, after the keys
+     * before it that only other sides have.
+     */
+    private boolean joinRun(State<T, K> state, Downstream<? super R> downstream) {
+        if (!advance(state, state.runKey, true, downstream)) return false;
+        List<?>[] groups = new List<?>[state.cursors.size() + 1];
+        groups[0] = state.run;
+        boolean everySide = true;
+        for (int i = 0; i < state.cursors.size(); i++) {
+            Cursor<?, K> cursor = state.cursors.get(i);
+            boolean matched = !cursor.exhausted() && comparator.compare(cursor.groupKey, state.runKey) == 0;
+            groups[i + 1] = matched ? cursor.group : null;
+            everySide &= matched;
+        }
+        if ((everySide || joinType != JoinType.INNER) && !emit(groups, downstream)) return false;
+        for (int i = 1; i < groups.length; i++) {
+            if (groups[i] != null) state.cursors.get(i - 1).loadGroup();
+        }
+        state.run.clear();
+        return true;
+    }
+
+    /**
+     * Moves the sides past every key below {@code bound}, or past all keys when unbounded,
+     * emitting those keys with no upstream element in an outer join.
+     */
+    private boolean advance(State<T, K> state, K bound, boolean bounded, Downstream<? super R> downstream) {
+        while (true) {
+            K smallest = null;
+            boolean any = false;
+            for (Cursor<?, K> cursor : state.cursors) {
+                if (cursor.exhausted()) continue;
+                if (!any || comparator.compare(cursor.groupKey, smallest) < 0) smallest = cursor.groupKey;
+                any = true;
+            }
+            if (!any || bounded && comparator.compare(smallest, bound) >= 0) return true;
+            List<?>[] groups = new List<?>[state.cursors.size() + 1];
+            for (int i = 0; i < state.cursors.size(); i++) {
+                Cursor<?, K> cursor = state.cursors.get(i);
+                if (!cursor.exhausted() && comparator.compare(cursor.groupKey, smallest) == 0) groups[i + 1] = cursor.group;
+            }
+            if (joinType == JoinType.OUTER && !emit(groups, downstream)) return false;
+            for (int i = 1; i < groups.length; i++) {
+                if (groups[i] != null) state.cursors.get(i - 1).loadGroup();
+            }
+        }
+    }
+
+    /**
+     * Pushes one row per combination of the groups, a missing group giving {@code null}.
+     */
+    private boolean emit(List<?>[] groups, Downstream<? super R> downstream) {
+        int[] index = new int[groups.length];
+        while (true) {
+            Object[] row = new Object[groups.length];
+            for (int i = 0; i < groups.length; i++) row[i] = groups[i] == null ? null : groups[i].get(index[i]);
+            if (!downstream.push(joinFunction.apply(Collections.unmodifiableList(Arrays.asList(row))))) return false;
+            int i = groups.length - 1;
+            while (i >= 0 && (groups[i] == null || ++index[i] == groups[i].size())) index[i--] = 0;
+            if (i < 0) return true;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.evolutionnext.streamgatherers.zipper;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Gatherer;
+import java.util.stream.Stream;
+
+/**
+ * Zips the upstream with any number of other streams in lock-step. Each row holds the upstream
+ * element followed by one element of every other stream, and zipping stops at the shortest one.
+ * The streams may have different element types, so rows are {@code List<Object>}.
+ */
+public record NZipper<T, R>(List<? extends Stream<?>> others, Function<? super List<Object>, ? extends R> zipperFunction)
+    implements Gatherer<T, List<Iterator<?>>, R> {
+
+    @Override
+    public Supplier<List<Iterator<?>>> initializer() {
+        return () -> others.stream().<Iterator<?>>map(Stream::iterator).toList();
+    }
+
+    @Override
+    public Integrator<List<Iterator<?>>, T, R> integrator() {
+        return Integrator.of((state, element, downstream) -> {
+            Object[] row = new Object[state.size() + 1];
+            row[0] = element;
+            for (int i = 0; i < state.size(); i++) {
+                Iterator<?> iterator = state.get(i);
+                if (!iterator.hasNext()) return false;
+                row[i + 1] = iterator.next();
+            }
+            return downstream.push(zipperFunction.apply(Collections.unmodifiableList(Arrays.asList(row))));
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package com.evolutionnext.streamgatherers.zipper;
+
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Gatherer;
+import java.util.stream.DoubleStream;
+
+public record ObjToDoubleZipper<T1, R>(DoubleStream other, ObjDoubleBiFunction<T1, R> zipperFunction) implements Gatherer<T1, ObjToDoubleZipper.ZipperState, R> {
+
+	@Override
+	public Supplier<ZipperState> initializer() {
+		return () -> new ZipperState(other.spliterator());
+	}
+
+	@Override
+	public Integrator<ZipperState, T1, R> integrator() {
+		return Integrator.of((state, element, downstream) ->
+			state.advance() && downstream.push(zipperFunction.apply(element, state.current)));
+	}
+
+	/**
+	 * The state is its own {@link DoubleConsumer}, so pulling the next double out of the
+	 * spliterator allocates nothing per element.
+	 */
+	static final class ZipperState implements DoubleConsumer {
+		private final Spliterator.OfDouble other;
+		private double current;
+
+		ZipperState(Spliterator.OfDouble other) {
+			this.other = other;
+		}
+
+		boolean advance() {
+			return other.tryAdvance(this);
+		}
+
+		@Override
+		public void accept(double value) {
+			current = value;
+		}
+	}
+
+	@FunctionalInterface
+	public static interface ObjDoubleBiFunction<T1, R> {
+		R apply(T1 a, double b);
+	}
+
+}
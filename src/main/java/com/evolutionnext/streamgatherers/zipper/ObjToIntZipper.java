@@ -1,7 +1,6 @@
 package com.evolutionnext.streamgatherers.zipper;
 
 import java.util.Spliterator;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.IntConsumer;
 import java.util.function.Supplier;
 import java.util.stream.Gatherer;
@@ -16,21 +15,35 @@ public record ObjToIntZipper<T1, R>(IntStream other, ObjIntBiFunction<T1, R> zip
 
 	@Override
 	public Integrator<ZipperState, T1, R> integrator() {
-		return Integrator.of((state, element, downstream) -> {
-			AtomicInteger otherElement = new AtomicInteger();
-			if(!state.other().tryAdvance((IntConsumer)(e -> otherElement.set(e)))) {
-				return false;
-			}
-			return downstream.push(zipperFunction.apply(element, otherElement.get()));
-		});
+		return Integrator.of((state, element, downstream) ->
+			state.advance() && downstream.push(zipperFunction.apply(element, state.current)));
 	}
 
-    static record ZipperState(Spliterator.OfInt other) {
-    }
+	/**
+	 * The state is its own {@link IntConsumer}, so pulling the next int out of the
+	 * spliterator allocates nothing per element.
+	 */
+	static final class ZipperState implements IntConsumer {
+		private final Spliterator.OfInt other;
+		private int current;
 
-    @FunctionalInterface
-    public static interface ObjIntBiFunction<T1, R> {
-    	R apply(T1 a, int b);
-    }
+		ZipperState(Spliterator.OfInt other) {
+			this.other = other;
+		}
+
+		boolean advance() {
+			return other.tryAdvance(this);
+		}
+
+		@Override
+		public void accept(int value) {
+			current = value;
+		}
+	}
+
+	@FunctionalInterface
+	public static interface ObjIntBiFunction<T1, R> {
+		R apply(T1 a, int b);
+	}
 
 }
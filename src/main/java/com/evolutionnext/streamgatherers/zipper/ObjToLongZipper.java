@@ -0,0 +1,49 @@
+package com.evolutionnext.streamgatherers.zipper;
+
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Gatherer;
+import java.util.stream.LongStream;
+
+public record ObjToLongZipper<T1, R>(LongStream other, ObjLongBiFunction<T1, R> zipperFunction) implements Gatherer<T1, ObjToLongZipper.ZipperState, R> {
+
+	@Override
+	public Supplier<ZipperState> initializer() {
+		return () -> new ZipperState(other.spliterator());
+	}
+
+	@Override
+	public Integrator<ZipperState, T1, R> integrator() {
+		return Integrator.of((state, element, downstream) ->
+			state.advance() && downstream.push(zipperFunction.apply(element, state.current)));
+	}
+
+	/**
+	 * The state is its own {@link LongConsumer}, so pulling the next long out of the
+	 * spliterator allocates nothing per element.
+	 */
+	static final class ZipperState implements LongConsumer {
+		private final Spliterator.OfLong other;
+		private long current;
+
+		ZipperState(Spliterator.OfLong other) {
+			this.other = other;
+		}
+
+		boolean advance() {
+			return other.tryAdvance(this);
+		}
+
+		@Override
+		public void accept(long value) {
+			current = value;
+		}
+	}
+
+	@FunctionalInterface
+	public static interface ObjLongBiFunction<T1, R> {
+		R apply(T1 a, long b);
+	}
+
+}
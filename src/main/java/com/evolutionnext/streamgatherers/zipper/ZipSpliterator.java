@@ -0,0 +1,133 @@
+package com.evolutionnext.streamgatherers.zipper;
+
+import java.util.ArrayList;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Pairs two spliterators positionally and splits both at the same index, so every half of a
+ * parallel zip still sees matching elements. When both sides are {@code SUBSIZED} the left side
+ * is split as usual and the right side is cut to the same length, re-splitting it until the
+ * boundary lines up. Otherwise batches of pairs are read off both sides into arrays, the same way
+ * {@link Spliterators#spliteratorUnknownSize} parallelizes an iterator.
+ */
+final class ZipSpliterator<A, B, R> implements Spliterator<R> {
+
+    private static final int BATCH_UNIT = 1 << 10;
+    private static final int MAX_BATCH = 1 << 25;
+
+    private final Spliterator<A> left;
+    private Spliterator<B> right;
+    private final BiFunction<? super A, ? super B, ? extends R> zipperFunction;
+    private final Consumer<A> leftSink = a -> this.leftValue = a;
+    private final Consumer<B> rightSink = b -> this.rightValue = b;
+    private A leftValue;
+    private B rightValue;
+    private int batch;
+
+    ZipSpliterator(Spliterator<A> left, Spliterator<B> right,
+                   BiFunction<? super A, ? super B, ? extends R> zipperFunction) {
+        this.left = left;
+        this.right = right;
+        this.zipperFunction = zipperFunction;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        if (!left.tryAdvance(leftSink) || !right.tryAdvance(rightSink)) return false;
+        A a = leftValue;
+        B b = rightValue;
+        leftValue = null;
+        rightValue = null;
+        action.accept(zipperFunction.apply(a, b));
+        return true;
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        return bothSubsized() ? coSplit() : batchSplit();
+    }
+
+    private Spliterator<R> coSplit() {
+        Spliterator<A> leftPrefix = left.trySplit();
+        if (leftPrefix == null) return null;
+        if (leftPrefix.getExactSizeIfKnown() < 0) leftPrefix = buffer(leftPrefix, Long.MAX_VALUE);
+        long length = Math.min(leftPrefix.getExactSizeIfKnown(), right.getExactSizeIfKnown());
+        return new ZipSpliterator<>(leftPrefix, takePrefix(length), zipperFunction);
+    }
+
+    /**
+     * Removes the first {@code length} elements of {@link #right} and returns them as a
+     * spliterator of exactly that size.
+     */
+    private Spliterator<B> takePrefix(long length) {
+        if (length == 0) return Spliterators.emptySpliterator();
+        Spliterator<B> prefix = right.trySplit();
+        if (prefix == null) return buffer(right, length);
+        long size = prefix.getExactSizeIfKnown();
+        if (size < 0) {
+            right = concat(prefix, right);
+            return buffer(right, length);
+        }
+        if (size == length) return prefix;
+        if (size < length) return concat(prefix, takePrefix(length - size));
+        Spliterator<B> rest = right;
+        right = prefix;
+        Spliterator<B> result = takePrefix(length);
+        right = concat(right, rest);
+        return result;
+    }
+
+    private Spliterator<R> batchSplit() {
+        int n = (int) Math.min(Math.min(batch + BATCH_UNIT, MAX_BATCH), estimateSize());
+        Object[] lefts = new Object[n];
+        Object[] rights = new Object[n];
+        int i = 0;
+        while (i < n && left.tryAdvance(leftSink) && right.tryAdvance(rightSink)) {
+            lefts[i] = leftValue;
+            rights[i++] = rightValue;
+        }
+        leftValue = null;
+        rightValue = null;
+        if (i == 0) return null;
+        batch = i;
+        @SuppressWarnings("unchecked")
+        Spliterator<A> leftBatch = (Spliterator<A>) Spliterators.spliterator(lefts, 0, i, Spliterator.ORDERED);
+        @SuppressWarnings("unchecked")
+        Spliterator<B> rightBatch = (Spliterator<B>) Spliterators.spliterator(rights, 0, i, Spliterator.ORDERED);
+        return new ZipSpliterator<>(leftBatch, rightBatch, zipperFunction);
+    }
+
+    private boolean bothSubsized() {
+        return left.hasCharacteristics(Spliterator.SUBSIZED) && right.hasCharacteristics(Spliterator.SUBSIZED);
+    }
+
+    @Override
+    public long estimateSize() {
+        return Math.min(left.estimateSize(), right.estimateSize());
+    }
+
+    @Override
+    public int characteristics() {
+        // Only claim a size when both sides can be co-split; the batch path reads ahead
+        return left.characteristics() & right.characteristics() & (bothSubsized() ? ORDERED | SIZED | SUBSIZED : ORDERED);
+    }
+
+    /**
+     * Reads up to {@code length} elements off {@code source} into an array-backed spliterator.
+     */
+    private static <T> Spliterator<T> buffer(Spliterator<T> source, long length) {
+        ArrayList<T> values = new ArrayList<>();
+        while (values.size() < length && source.tryAdvance(values::add)) {
+        }
+        return values.spliterator();
+    }
+
+    private static <T> Spliterator<T> concat(Spliterator<T> first, Spliterator<T> second) {
+        return Stream.concat(StreamSupport.stream(first, false), StreamSupport.stream(second, false)).spliterator();
+    }
+}
@@ -1,9 +1,12 @@
 package com.evolutionnext.streamgatherers.zipper;
 
+import java.math.BigInteger;
 import java.util.List;
+import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import static com.evolutionnext.streamgatherers.zipper.LazyStream.cons;
 import static com.evolutionnext.streamgatherers.zipper.Zippers.*;
 public class ZipperGatherer {
 
@@ -26,8 +29,7 @@ public class ZipperGatherer {
         List<String> items = List.of("Eggs", "Milk", "Bread", "Tea", "Apricots");
         Stream<Integer> numbers = IntStream.range(1, 1000)
             .boxed();
-        List<String> zipped = items.stream().parallel()
-            .gather(zip(numbers).with((letter, i) -> i + ". " + letter))
+        List<String> zipped = zip(items.stream().parallel(), numbers, (letter, i) -> i + ". " + letter)
             .collect(Collectors.toList());
         System.out.println(zipped);
     }
@@ -46,8 +48,15 @@ public class ZipperGatherer {
     }
 
     public static Stream<Integer> fibonacci() {
-        return Stream.concat(Stream.of(0, 1),
-            fibonacci().gather(zip(fibonacci().skip(1)).with(Integer::sum)));
+        return fibonacci(0, 1, Integer::sum).stream();
+    }
+
+    public static Stream<BigInteger> bigFibonacci() {
+        return fibonacci(BigInteger.ZERO, BigInteger.ONE, BigInteger::add).stream();
+    }
+
+    private static <T> LazyStream<T> fibonacci(T first, T second, BinaryOperator<T> add) {
+        return LazyStream.fix(fib -> cons(first, () -> cons(second, () -> fib.zipWith(fib.tail(), add))));
     }
 
 }
@@ -1,11 +1,54 @@
 package com.evolutionnext.streamgatherers.zipper;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Zippers {
 
+    /**
+     * Zips two streams into one that can run in parallel while keeping the pairing intact.
+     * Unlike the {@code zip(other).with(...)} gatherers, both sources are split together,
+     * see {@link ZipSpliterator}. The result is parallel if either input is.
+     */
+    public static <T1, T2, R> Stream<R> zip(Stream<T1> left, Stream<T2> right, BiFunction<? super T1, ? super T2, ? extends R> zipperFunction) {
+        Stream<R> zipped = StreamSupport.stream(
+            new ZipSpliterator<>(left.spliterator(), right.spliterator(), zipperFunction),
+            left.isParallel() || right.isParallel());
+        return zipped.onClose(left::close).onClose(right::close);
+    }
+
+    /**
+     * Zips the upstream with streams of any element types; each row is a {@code List<Object>}
+     * holding the upstream element first, see {@link NZipper}.
+     */
+    public static NZipperBuilder zipN(Stream<?>... others) {
+        return new NZipperBuilder(List.of(others));
+    }
+
+    public static <T2> MergeJoinBuilder<T2> mergeJoin(Stream<T2> other) {
+        return new MergeJoinBuilder<>(other);
+    }
+
+    /**
+     * Starts an N-way merge join keyed on the upstream's {@code key}; add the other sorted
+     * streams with {@link MultiMergeJoinBuilder#and}, see {@link MultiMergeJoiner}.
+     */
+    public static <T, K extends Comparable<? super K>> MultiMergeJoinBuilder<T, K> mergeJoinAll(Function<? super T, ? extends K> key) {
+        return new MultiMergeJoinBuilder<>(key, List.of(), Comparator.naturalOrder());
+    }
+
+    public static <T, K> MultiMergeJoinBuilder<T, K> mergeJoinAll(Function<? super T, ? extends K> key, Comparator<? super K> comparator) {
+        return new MultiMergeJoinBuilder<>(key, List.of(), comparator);
+    }
+
     public static <T2> ObjToObjZipperBuilder<T2> zip(Stream<T2> other) {
         return new ObjToObjZipperBuilder<>(other);
     }
@@ -14,6 +57,14 @@ public class Zippers {
         return new ObjToIntZipperBuilder(other);
     }
 
+    public static ObjToLongZipperBuilder zip(LongStream other) {
+        return new ObjToLongZipperBuilder(other);
+    }
+
+    public static ObjToDoubleZipperBuilder zip(DoubleStream other) {
+        return new ObjToDoubleZipperBuilder(other);
+    }
+
     public static record ObjToObjZipperBuilder<T2>(Stream<T2> other)
     {
 
@@ -25,7 +76,77 @@ public class Zippers {
 
     public static record ObjToIntZipperBuilder(IntStream other) {
 
-    <T1, R> ObjToIntZipper<T1, R> with(ObjToIntZipper.ObjIntBiFunction<T1, R> zipperFunction) {
+    public <T1, R> ObjToIntZipper<T1, R> with(ObjToIntZipper.ObjIntBiFunction<T1, R> zipperFunction) {
         return new ObjToIntZipper<>(other, zipperFunction);
     }
-}}
+}
+
+    public static record ObjToLongZipperBuilder(LongStream other) {
+
+        public <T1, R> ObjToLongZipper<T1, R> with(ObjToLongZipper.ObjLongBiFunction<T1, R> zipperFunction) {
+            return new ObjToLongZipper<>(other, zipperFunction);
+        }
+    }
+
+    public static record ObjToDoubleZipperBuilder(DoubleStream other) {
+
+        public <T1, R> ObjToDoubleZipper<T1, R> with(ObjToDoubleZipper.ObjDoubleBiFunction<T1, R> zipperFunction) {
+            return new ObjToDoubleZipper<>(other, zipperFunction);
+        }
+    }
+
+    public static record NZipperBuilder(List<Stream<?>> others) {
+
+        public <T, R> NZipper<T, R> with(Function<? super List<Object>, ? extends R> zipperFunction) {
+            return new NZipper<>(others, zipperFunction);
+        }
+    }
+
+    public static record MultiMergeJoinBuilder<T, K>(Function<? super T, ? extends K> key,
+                                                     List<MultiMergeJoiner.Side<?, K>> sides,
+                                                     Comparator<? super K> comparator) {
+
+        public <S> MultiMergeJoinBuilder<T, K> and(Stream<S> other, Function<? super S, ? extends K> otherKey) {
+            List<MultiMergeJoiner.Side<?, K>> more = new ArrayList<>(sides);
+            more.add(new MultiMergeJoiner.Side<>(other, otherKey));
+            return new MultiMergeJoinBuilder<>(key, List.copyOf(more), comparator);
+        }
+
+        public <R> MultiMergeJoiner<T, K, R> with(Function<? super List<Object>, ? extends R> joinFunction) {
+            return with(MergeJoiner.JoinType.INNER, joinFunction);
+        }
+
+        public <R> MultiMergeJoiner<T, K, R> with(MergeJoiner.JoinType joinType, Function<? super List<Object>, ? extends R> joinFunction) {
+            return new MultiMergeJoiner<>(key, sides, comparator, joinType, joinFunction);
+        }
+    }
+
+    public static record MergeJoinBuilder<T2>(Stream<T2> other) {
+
+        public <T1, K extends Comparable<? super K>> MergeJoinKeyBuilder<T1, T2, K> on(Function<? super T1, ? extends K> leftKey,
+                                                                                      Function<? super T2, ? extends K> rightKey) {
+            return new MergeJoinKeyBuilder<>(other, leftKey, rightKey, Comparator.naturalOrder());
+        }
+
+        public <T1, K> MergeJoinKeyBuilder<T1, T2, K> on(Function<? super T1, ? extends K> leftKey,
+                                                        Function<? super T2, ? extends K> rightKey,
+                                                        Comparator<? super K> comparator) {
+            return new MergeJoinKeyBuilder<>(other, leftKey, rightKey, comparator);
+        }
+    }
+
+    public static record MergeJoinKeyBuilder<T1, T2, K>(Stream<T2> other,
+                                                        Function<? super T1, ? extends K> leftKey,
+                                                        Function<? super T2, ? extends K> rightKey,
+                                                        Comparator<? super K> comparator) {
+
+        public <R> MergeJoiner<T1, T2, K, R> with(BiFunction<? super T1, ? super T2, ? extends R> joinFunction) {
+            return with(MergeJoiner.JoinType.INNER, joinFunction);
+        }
+
+        public <R> MergeJoiner<T1, T2, K, R> with(MergeJoiner.JoinType joinType,
+                                                  BiFunction<? super T1, ? super T2, ? extends R> joinFunction) {
+            return new MergeJoiner<>(other, leftKey, rightKey, comparator, joinType, joinFunction);
+        }
+    }
+}
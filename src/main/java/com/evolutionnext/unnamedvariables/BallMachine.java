@@ -1,7 +1,228 @@
 package com.evolutionnext.unnamedvariables;
 
-public class BallMachine {
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A reproducible source of balls in a weighted mix of colors. Like {@link OrderGenerator},
+ * ball {@code i} of a seed is derived from {@code i} alone, so a stream of any length splits
+ * evenly and yields the same balls sequentially or in parallel.
+ * <p>
+ * The records are immutable and their values come from small fixed sets, so every ball handed
+ * out is one of a few preallocated instances: a description from {@link #DESCRIPTIONS}, a day
+ * of 2023, or an achievement below {@link #ACHIEVEMENTS}. Producing balls allocates nothing
+ * per ball.
+ */
+public final class BallMachine {
+
+    public static final List<String> DESCRIPTIONS = List.of(
+        "One made for dodge ball", "One made for kickball", "One made for four square", "One made for tetherball");
+    public static final int ACHIEVEMENTS = 1024;
+
+    private static final RedBall[] RED_BALLS = DESCRIPTIONS.stream().map(RedBall::new).toArray(RedBall[]::new);
+    private static final GreenBall[] GREEN_BALLS = LocalDate.of(2023, 1, 1).datesUntil(LocalDate.of(2024, 1, 1))
+        .map(GreenBall::new).toArray(GreenBall[]::new);
+    private static final BlueBall[] BLUE_BALLS = new BlueBall[ACHIEVEMENTS];
+
+    static {
+        for (int i = 0; i < ACHIEVEMENTS; i++) BLUE_BALLS[i] = new BlueBall((long) i);
+    }
+
+    private final long seed;
+    private final long redBound;
+    private final long greenBound;
+
+    private BallMachine(long seed, double red, double green, double blue) {
+        for (double weight : new double[]{red, green, blue}) {
+            if (!(weight >= 0 && weight < Double.POSITIVE_INFINITY)) throw new IllegalArgumentException("Invalid weight: " + weight);
+        }
+        double total = red + green + blue;
+        if (!(total > 0)) throw new IllegalArgumentException("At least one weight must be positive");
+        this.seed = seed;
+        this.redBound = Math.round(red / total * 0x1p32);
+        this.greenBound = blue == 0 ? 1L << 32 : Math.round((red + green) / total * 0x1p32);
+    }
+
     public static Ball getBall() {
-        return new RedBall("One made for dodge ball");
+        return RED_BALLS[0];
+    }
+
+    /**
+     * Every color equally likely.
+     */
+    public static BallMachine uniform(long seed) {
+        return new BallMachine(seed, 1, 1, 1);
+    }
+
+    /**
+     * Each color drawn in proportion to its weight.
+     */
+    public static BallMachine weighted(long seed, double red, double green, double blue) {
+        return new BallMachine(seed, red, green, blue);
+    }
+
+    public Ball ball(long index) {
+        long bits = SplitMix64.at(seed, index);
+        long color = bits >>> 32;
+        long value = bits & 0xFFFFFFFFL;
+        if (color < redBound) return RED_BALLS[(int) ((value * RED_BALLS.length) >>> 32)];
+        if (color < greenBound) return GREEN_BALLS[(int) ((value * GREEN_BALLS.length) >>> 32)];
+        return BLUE_BALLS[(int) ((value * BLUE_BALLS.length) >>> 32)];
+    }
+
+    public Stream<Ball> balls(long count) {
+        return StreamSupport.stream(spliterator(count), false);
+    }
+
+    public Spliterator<Ball> spliterator(long count) {
+        if (count < 0) throw new IllegalArgumentException("count must not be negative: " + count);
+        return new BallSpliterator(0, count);
+    }
+
+    /**
+     * The same {@code count} balls as {@link #balls}, made by {@code producers} virtual threads,
+     * each working through its own share of the indexes, and handed to the stream through an
+     * {@link ArrayBlockingQueue} of {@code capacity}. Producers block while the queue is full,
+     * so they never run further ahead of the consumer than that. The balls arrive in no
+     * particular order.
+     * <p>
+     * The producers start right away. Closing the stream interrupts any still running, so a
+     * stream that is not consumed to the end should be closed.
+     */
+    public Stream<Ball> produce(long count, int producers, int capacity) {
+        if (count < 0) throw new IllegalArgumentException("count must not be negative: " + count);
+        if (producers < 1) throw new IllegalArgumentException("producers must be positive: " + producers);
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        BlockingQueue<Ball> queue = new ArrayBlockingQueue<>(capacity);
+        Thread[] threads = new Thread[producers];
+        long share = count / producers;
+        long extra = count % producers;
+        for (int producer = 0; producer < producers; producer++) {
+            long from = producer * share + Math.min(producer, extra);
+            long to = from + share + (producer < extra ? 1 : 0);
+            threads[producer] = Thread.ofVirtual().name("ball-machine-" + producer).start(() -> {
+                try {
+                    for (long i = from; i < to; i++) queue.put(ball(i));
+                } catch (InterruptedException _) {
+                    // The consumer closed the stream
+                }
+            });
+        }
+        return StreamSupport.stream(new QueueSpliterator(queue, count, threads), false).onClose(() -> interrupt(threads));
+    }
+
+    private static void interrupt(Thread[] threads) {
+        for (Thread thread : threads) thread.interrupt();
+    }
+
+    private final class BallSpliterator implements Spliterator<Ball> {
+        private long index;
+        private final long fence;
+
+        BallSpliterator(long index, long fence) {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Ball> action) {
+            if (index >= fence) return false;
+            action.accept(ball(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Ball> action) {
+            long i = index;
+            index = fence;
+            for (; i < fence; i++) action.accept(ball(i));
+        }
+
+        @Override
+        public Spliterator<Ball> trySplit() {
+            long middle = index + ((fence - index) >>> 1);
+            if (middle <= index) return null;
+            BallSpliterator prefix = new BallSpliterator(index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+
+    /**
+     * The single consumer's end of the queue. {@code forEachRemaining} drains whatever is
+     * queued in one go into a reused list, taking the queue's lock once per batch rather than
+     * once per ball, and only blocks when the queue is empty.
+     */
+    private static final class QueueSpliterator implements Spliterator<Ball> {
+        private final BlockingQueue<Ball> queue;
+        private final Thread[] producers;
+        private long remaining;
+
+        QueueSpliterator(BlockingQueue<Ball> queue, long count, Thread[] producers) {
+            this.queue = queue;
+            this.remaining = count;
+            this.producers = producers;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Ball> action) {
+            if (remaining == 0) return false;
+            remaining--;
+            action.accept(take());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Ball> action) {
+            List<Ball> batch = new ArrayList<>((int) Math.min(remaining, queue.remainingCapacity() + queue.size()));
+            while (remaining > 0) {
+                if (queue.drainTo(batch, (int) Math.min(remaining, Integer.MAX_VALUE)) == 0) batch.add(take());
+                remaining -= batch.size();
+                for (Ball ball : batch) action.accept(ball);
+                batch.clear();
+            }
+        }
+
+        private Ball take() {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupt(producers);
+                throw new IllegalStateException("Interrupted while waiting for a ball", e);
+            }
+        }
+
+        @Override
+        public Spliterator<Ball> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return SIZED | NONNULL;
+        }
     }
 }
@@ -0,0 +1,157 @@
+package com.evolutionnext.unnamedvariables;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Balls split by their permitted subtype into one array per type, each in encounter order.
+ * Classifying a whole batch once means code that handles the balls can run a loop over
+ * {@code RedBall}s, one over {@code GreenBall}s and one over {@code BlueBall}s, each seeing a
+ * single type, instead of a type switch per ball. The arrays are handed over as they are;
+ * they are not copied on access.
+ */
+public final class BallPartition {
+
+    static final int CHUNK_SIZE = 1 << 14;
+
+    private final RedBall[] reds;
+    private final GreenBall[] greens;
+    private final BlueBall[] blues;
+
+    private BallPartition(RedBall[] reds, GreenBall[] greens, BlueBall[] blues) {
+        this.reds = reds;
+        this.greens = greens;
+        this.blues = blues;
+    }
+
+    public static BallPartition of(Ball[] balls) {
+        return partition(balls, 0, balls.length).trimmed();
+    }
+
+    public static BallPartition of(List<? extends Ball> balls) {
+        Partial partial = new Partial(balls.size());
+        for (Ball ball : balls) partial.add(ball);
+        return partial.trimmed();
+    }
+
+    /**
+     * Like {@link #of(Ball[])}, with the array split into chunks that are partitioned on the
+     * common fork/join pool and then copied into place, each type's chunks at offsets summed
+     * from the chunk counts, so encounter order is kept.
+     */
+    public static BallPartition ofParallel(Ball[] balls) {
+        // Neither the chunk count nor a chunk bound may overflow for arrays near Integer.MAX_VALUE
+        int chunks = balls.length / CHUNK_SIZE + (balls.length % CHUNK_SIZE == 0 ? 0 : 1);
+        if (chunks <= 1) return of(balls);
+        Partial[] partials = new Partial[chunks];
+        IntStream.range(0, chunks).parallel()
+            .forEach(chunk -> {
+                int from = chunk * CHUNK_SIZE;
+                partials[chunk] = partition(balls, from, from + Math.min(CHUNK_SIZE, balls.length - from));
+            });
+
+        int[] redOffsets = new int[chunks + 1];
+        int[] greenOffsets = new int[chunks + 1];
+        int[] blueOffsets = new int[chunks + 1];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            redOffsets[chunk + 1] = redOffsets[chunk] + partials[chunk].redCount;
+            greenOffsets[chunk + 1] = greenOffsets[chunk] + partials[chunk].greenCount;
+            blueOffsets[chunk + 1] = blueOffsets[chunk] + partials[chunk].blueCount;
+        }
+        RedBall[] reds = new RedBall[redOffsets[chunks]];
+        GreenBall[] greens = new GreenBall[greenOffsets[chunks]];
+        BlueBall[] blues = new BlueBall[blueOffsets[chunks]];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            Partial partial = partials[chunk];
+            System.arraycopy(partial.reds, 0, reds, redOffsets[chunk], partial.redCount);
+            System.arraycopy(partial.greens, 0, greens, greenOffsets[chunk], partial.greenCount);
+            System.arraycopy(partial.blues, 0, blues, blueOffsets[chunk], partial.blueCount);
+        });
+        return new BallPartition(reds, greens, blues);
+    }
+
+    public RedBall[] reds() {
+        return reds;
+    }
+
+    public GreenBall[] greens() {
+        return greens;
+    }
+
+    public BlueBall[] blues() {
+        return blues;
+    }
+
+    public int size() {
+        return reds.length + greens.length + blues.length;
+    }
+
+    /**
+     * Runs each consumer over its own type, reds first, then greens, then blues.
+     */
+    public void forEach(Consumer<? super RedBall> red, Consumer<? super GreenBall> green, Consumer<? super BlueBall> blue) {
+        for (RedBall ball : reds) red.accept(ball);
+        for (GreenBall ball : greens) green.accept(ball);
+        for (BlueBall ball : blues) blue.accept(ball);
+    }
+
+    @Override
+    public String toString() {
+        return "BallPartition[reds=%d, greens=%d, blues=%d]".formatted(reds.length, greens.length, blues.length);
+    }
+
+    private static Partial partition(Ball[] balls, int from, int to) {
+        Partial partial = new Partial(to - from);
+        for (int i = from; i < to; i++) partial.add(balls[i]);
+        return partial;
+    }
+
+    /**
+     * Growable arrays for one pass. They start at a third of the expected count each and
+     * double when full, so an even mix fills them without copying and a skewed one copies
+     * at most a few times.
+     */
+    private static final class Partial {
+        private RedBall[] reds;
+        private GreenBall[] greens;
+        private BlueBall[] blues;
+        private int redCount;
+        private int greenCount;
+        private int blueCount;
+
+        Partial(int expected) {
+            int capacity = expected / 3 + 16;
+            reds = new RedBall[capacity];
+            greens = new GreenBall[capacity];
+            blues = new BlueBall[capacity];
+        }
+
+        /**
+         * The records are final, so comparing the exact class is the same test as the type
+         * pattern and compiles to a pointer compare.
+         */
+        void add(Ball ball) {
+            Class<? extends Ball> type = Objects.requireNonNull(ball, "ball").getClass();
+            if (type == RedBall.class) {
+                if (redCount == reds.length) reds = Arrays.copyOf(reds, redCount * 2);
+                reds[redCount++] = (RedBall) ball;
+            } else if (type == GreenBall.class) {
+                if (greenCount == greens.length) greens = Arrays.copyOf(greens, greenCount * 2);
+                greens[greenCount++] = (GreenBall) ball;
+            } else {
+                if (blueCount == blues.length) blues = Arrays.copyOf(blues, blueCount * 2);
+                blues[blueCount++] = (BlueBall) ball;
+            }
+        }
+
+        BallPartition trimmed() {
+            return new BallPartition(
+                redCount == reds.length ? reds : Arrays.copyOf(reds, redCount),
+                greenCount == greens.length ? greens : Arrays.copyOf(greens, greenCount),
+                blueCount == blues.length ? blues : Arrays.copyOf(blues, blueCount));
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.evolutionnext.unnamedvariables;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IntSummaryStatistics;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Orders stored column by column: each state as a one-byte code into
+ * {@link Order#US_STATE_ABBREVIATIONS} and each amount in an {@code int[]}. Aggregating by
+ * state then indexes small arrays by code instead of hashing strings and boxing amounts.
+ * Both aggregations split the rows into chunks that run on the common fork/join pool.
+ * <p>
+ * Needs {@code --add-modules jdk.incubator.vector}.
+ */
+public final class OrderColumns {
+
+    static final int CHUNK_ROWS = 1 << 16;
+
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final int STATE_COUNT = Order.US_STATE_ABBREVIATIONS.length;
+    private static final Map<String, Byte> CODES = new HashMap<>();
+
+    static {
+        for (int code = 0; code < STATE_COUNT; code++) CODES.put(Order.US_STATE_ABBREVIATIONS[code], (byte) code);
+    }
+
+    private final byte[] states;
+    private final int[] amounts;
+    private final long largestAmount;
+
+    private OrderColumns(byte[] states, int[] amounts) {
+        this.states = states;
+        this.amounts = amounts;
+        long largest = 1;
+        for (int amount : amounts) largest = Math.max(largest, Math.abs((long) amount));
+        this.largestAmount = largest;
+    }
+
+    public static OrderColumns of(Collection<Order> orders) {
+        byte[] states = new byte[orders.size()];
+        int[] amounts = new int[orders.size()];
+        int row = 0;
+        for (Order order : orders) {
+            states[row] = code(order.state());
+            amounts[row++] = order.amount();
+        }
+        return new OrderColumns(states, amounts);
+    }
+
+    /**
+     * The first {@code size} orders of the generator, filled in parallel.
+     */
+    public static OrderColumns generate(OrderGenerator generator, int size) {
+        byte[] states = new byte[size];
+        int[] amounts = new int[size];
+        IntStream.range(0, size).parallel().forEach(row -> {
+            Order order = generator.order(row);
+            states[row] = code(order.state());
+            amounts[row] = order.amount();
+        });
+        return new OrderColumns(states, amounts);
+    }
+
+    public int size() {
+        return amounts.length;
+    }
+
+    public Order order(int row) {
+        return new Order(Order.US_STATE_ABBREVIATIONS[states[row]], amounts[row]);
+    }
+
+    /**
+     * Count, sum, min and max of the amounts of every state present, like
+     * {@code groupingBy(Order::state, summarizingInt(Order::amount))}. Each chunk adds into
+     * its own arrays indexed by state code; a scatter like this does not vectorize, so the
+     * loop is scalar and the speed comes from the layout.
+     */
+    public Map<String, IntSummaryStatistics> summarizeByState() {
+        Totals totals = IntStream.range(0, chunks()).parallel()
+            .mapToObj(this::summarizeChunk)
+            .reduce(Totals::merge)
+            .orElseGet(Totals::new);
+        Map<String, IntSummaryStatistics> result = new LinkedHashMap<>();
+        for (int code = 0; code < STATE_COUNT; code++) {
+            if (totals.counts[code] > 0) {
+                result.put(Order.US_STATE_ABBREVIATIONS[code],
+                    new IntSummaryStatistics(totals.counts[code], totals.mins[code], totals.maxes[code], totals.sums[code]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Count, sum, min and max of the amounts of one state. The state column is compared a
+     * whole vector at a time, and matching amounts are summed and bounded lane-wise.
+     */
+    public IntSummaryStatistics summarize(String state) {
+        byte code = code(state);
+        long[] totals = IntStream.range(0, chunks()).parallel()
+            .mapToObj(chunk -> summarizeChunk(chunk, code))
+            .reduce(OrderColumns::mergeSingle)
+            .orElseGet(OrderColumns::emptySingle);
+        return totals[0] == 0
+            ? new IntSummaryStatistics()
+            : new IntSummaryStatistics(totals[0], (int) totals[2], (int) totals[3], totals[1]);
+    }
+
+    private int chunks() {
+        return (amounts.length + CHUNK_ROWS - 1) / CHUNK_ROWS;
+    }
+
+    private Totals summarizeChunk(int chunk) {
+        Totals totals = new Totals();
+        int from = chunk * CHUNK_ROWS;
+        int to = Math.min(from + CHUNK_ROWS, amounts.length);
+        for (int row = from; row < to; row++) {
+            int code = states[row];
+            int amount = amounts[row];
+            totals.counts[code]++;
+            totals.sums[code] += amount;
+            if (amount < totals.mins[code]) totals.mins[code] = amount;
+            if (amount > totals.maxes[code]) totals.maxes[code] = amount;
+        }
+        return totals;
+    }
+
+    /**
+     * Returns {count, sum, min, max}. Lane sums are kept in ints and folded into the long
+     * sum before their total could overflow an int, since the lane reduction is done in int;
+     * amounts too large for even one vector to be folded safely are widened to longs first.
+     */
+    private long[] summarizeChunk(int chunk, byte code) {
+        int from = chunk * CHUNK_ROWS;
+        int to = Math.min(from + CHUNK_ROWS, amounts.length);
+        int parts = BYTES.length() / INTS.length();
+        int vectorsPerFold = (int) (Integer.MAX_VALUE / (largestAmount * INTS.length()));
+
+        long count = 0;
+        long sum = 0;
+        IntVector laneSums = IntVector.zero(INTS);
+        IntVector laneMins = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        IntVector laneMaxes = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        int pending = 0;
+
+        int row = from;
+        for (int upper = from + BYTES.loopBound(to - from); row < upper; row += BYTES.length()) {
+            VectorMask<Byte> matches = ByteVector.fromArray(BYTES, states, row).compare(VectorOperators.EQ, code);
+            if (!matches.anyTrue()) continue;
+            count += matches.trueCount();
+            ByteVector selected = (ByteVector) matches.toVector();
+            for (int part = 0; part < parts; part++) {
+                IntVector select = (IntVector) selected.convertShape(VectorOperators.B2I, INTS, part);
+                VectorMask<Integer> lanes = select.compare(VectorOperators.NE, 0);
+                IntVector values = IntVector.fromArray(INTS, amounts, row + part * INTS.length());
+                if (vectorsPerFold == 0) {
+                    sum += widenedSum(values.and(select));
+                } else {
+                    laneSums = laneSums.add(values.and(select));
+                }
+                laneMins = laneMins.lanewise(VectorOperators.MIN, values, lanes);
+                laneMaxes = laneMaxes.lanewise(VectorOperators.MAX, values, lanes);
+                if (++pending == vectorsPerFold) {
+                    sum += laneSums.reduceLanesToLong(VectorOperators.ADD);
+                    laneSums = IntVector.zero(INTS);
+                    pending = 0;
+                }
+            }
+        }
+        sum += laneSums.reduceLanesToLong(VectorOperators.ADD);
+        long min = laneMins.reduceLanesToLong(VectorOperators.MIN);
+        long max = laneMaxes.reduceLanesToLong(VectorOperators.MAX);
+        for (; row < to; row++) {
+            if (states[row] != code) continue;
+            count++;
+            sum += amounts[row];
+            min = Math.min(min, amounts[row]);
+            max = Math.max(max, amounts[row]);
+        }
+        return new long[]{count, sum, min, max};
+    }
+
+    private static long widenedSum(IntVector values) {
+        long sum = 0;
+        for (int part = 0; part < INTS.length() / LONGS.length(); part++) {
+            sum += values.convertShape(VectorOperators.I2L, LONGS, part).reduceLanesToLong(VectorOperators.ADD);
+        }
+        return sum;
+    }
+
+    private static long[] emptySingle() {
+        return new long[]{0, 0, Integer.MAX_VALUE, Integer.MIN_VALUE};
+    }
+
+    private static long[] mergeSingle(long[] left, long[] right) {
+        left[0] += right[0];
+        left[1] += right[1];
+        left[2] = Math.min(left[2], right[2]);
+        left[3] = Math.max(left[3], right[3]);
+        return left;
+    }
+
+    private static byte code(String state) {
+        Byte code = CODES.get(state);
+        if (code == null) throw new IllegalArgumentException("Unknown state: " + state);
+        return code;
+    }
+
+    private static final class Totals {
+        final long[] counts = new long[STATE_COUNT];
+        final long[] sums = new long[STATE_COUNT];
+        final int[] mins = new int[STATE_COUNT];
+        final int[] maxes = new int[STATE_COUNT];
+
+        Totals() {
+            Arrays.fill(mins, Integer.MAX_VALUE);
+            Arrays.fill(maxes, Integer.MIN_VALUE);
+        }
+
+        Totals merge(Totals other) {
+            for (int code = 0; code < STATE_COUNT; code++) {
+                counts[code] += other.counts[code];
+                sums[code] += other.sums[code];
+                mins[code] = Math.min(mins[code], other.mins[code]);
+                maxes[code] = Math.max(maxes[code], other.maxes[code]);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.evolutionnext.unnamedvariables;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A reproducible source of synthetic orders with amounts from 10 to 200 and a configurable
+ * spread over the 50 US states. Order {@code i} of a seed is derived from {@code i} alone,
+ * using the SplitMix64 step behind {@code SplittableRandom}, so a stream of any length is
+ * generated lazily, splits evenly, and yields the same orders sequentially or in parallel.
+ */
+public final class OrderGenerator {
+
+    public static final int MIN_AMOUNT = 10;
+    public static final int MAX_AMOUNT = 200;
+
+    private final long seed;
+    private final String[] states;
+    private final int[] alias;
+    private final long[] threshold;
+
+    private OrderGenerator(long seed, String[] states, double[] weights) {
+        this.seed = seed;
+        this.states = states;
+        this.alias = new int[states.length];
+        this.threshold = new long[states.length];
+        buildAliasTable(weights);
+    }
+
+    /**
+     * Every state equally likely.
+     */
+    public static OrderGenerator uniform(long seed) {
+        double[] weights = new double[Order.US_STATE_ABBREVIATIONS.length];
+        Arrays.fill(weights, 1);
+        return new OrderGenerator(seed, Order.US_STATE_ABBREVIATIONS, weights);
+    }
+
+    /**
+     * State {@code r} (in {@link #states()} order, from 0) is drawn with weight
+     * {@code 1 / (r + 1)^exponent}, so a few states take most of the orders.
+     */
+    public static OrderGenerator zipf(long seed, double exponent) {
+        if (!(exponent >= 0)) throw new IllegalArgumentException("exponent must not be negative: " + exponent);
+        double[] weights = new double[Order.US_STATE_ABBREVIATIONS.length];
+        for (int rank = 0; rank < weights.length; rank++) weights[rank] = 1 / Math.pow(rank + 1, exponent);
+        return new OrderGenerator(seed, Order.US_STATE_ABBREVIATIONS, weights);
+    }
+
+    /**
+     * Only the given states, each drawn in proportion to its weight.
+     */
+    public static OrderGenerator weighted(long seed, Map<String, ? extends Number> weights) {
+        if (weights.isEmpty()) throw new IllegalArgumentException("weights must not be empty");
+        String[] states = new String[weights.size()];
+        double[] values = new double[weights.size()];
+        int i = 0;
+        for (Map.Entry<String, ? extends Number> entry : weights.entrySet()) {
+            double weight = entry.getValue().doubleValue();
+            if (!(weight >= 0 && weight < Double.POSITIVE_INFINITY)) {
+                throw new IllegalArgumentException("Invalid weight for " + entry.getKey() + ": " + weight);
+            }
+            states[i] = canonical(entry.getKey());
+            values[i++] = weight;
+        }
+        return new OrderGenerator(seed, states, values);
+    }
+
+    public List<String> states() {
+        return List.of(states);
+    }
+
+    public Order order(long index) {
+        long bits = SplitMix64.at(seed, index);
+        int column = (int) (((bits >>> 32) * states.length) >>> 32);
+        int state = ((bits & 0xFFFFFFFFL) >>> 1) < threshold[column] ? column : alias[column];
+        int amount = MIN_AMOUNT + (int) (((SplitMix64.mix64(bits) >>> 32) * (MAX_AMOUNT - MIN_AMOUNT + 1)) >>> 32);
+        return new Order(states[state], amount);
+    }
+
+    public Stream<Order> orders(long count) {
+        return StreamSupport.stream(spliterator(count), false);
+    }
+
+    public Spliterator<Order> spliterator(long count) {
+        if (count < 0) throw new IllegalArgumentException("count must not be negative: " + count);
+        return new OrderSpliterator(0, count);
+    }
+
+    /**
+     * Vose's alias method: each column holds its own state with probability
+     * {@code threshold / 2^31} and its alias otherwise, so a draw is one multiply and one compare.
+     */
+    private void buildAliasTable(double[] weights) {
+        int n = weights.length;
+        double total = 0;
+        for (double weight : weights) total += weight;
+        if (!(total > 0)) throw new IllegalArgumentException("At least one weight must be positive");
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smalls = 0;
+        int larges = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1) small[smalls++] = i;
+            else large[larges++] = i;
+        }
+        while (smalls > 0 && larges > 0) {
+            int less = small[--smalls];
+            int more = large[--larges];
+            threshold[less] = (long) (scaled[less] * (1L << 31));
+            alias[less] = more;
+            scaled[more] += scaled[less] - 1;
+            if (scaled[more] < 1) small[smalls++] = more;
+            else large[larges++] = more;
+        }
+        while (larges > 0) threshold[large[--larges]] = 1L << 31;
+        while (smalls > 0) threshold[small[--smalls]] = 1L << 31;
+    }
+
+    private static String canonical(String state) {
+        for (String known : Order.US_STATE_ABBREVIATIONS) {
+            if (known.equals(state)) return known;
+        }
+        return state;
+    }
+
+    private final class OrderSpliterator implements Spliterator<Order> {
+        private long index;
+        private final long fence;
+
+        OrderSpliterator(long index, long fence) {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Order> action) {
+            if (index >= fence) return false;
+            action.accept(order(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Order> action) {
+            long i = index;
+            index = fence;
+            for (; i < fence; i++) action.accept(order(i));
+        }
+
+        @Override
+        public Spliterator<Order> trySplit() {
+            long middle = index + ((fence - index) >>> 1);
+            if (middle <= index) return null;
+            OrderSpliterator prefix = new OrderSpliterator(index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.evolutionnext.unnamedvariables;
+
+/**
+ * The SplitMix64 step behind {@code SplittableRandom}, used by the generators to derive the
+ * {@code index}th value of a seed from the index alone.
+ */
+final class SplitMix64 {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private SplitMix64() {
+    }
+
+    /**
+     * The value {@code SplittableRandom} would produce at {@code index} for {@code seed}.
+     */
+    static long at(long seed, long index) {
+        return mix64(seed + (index + 1) * GOLDEN_GAMMA);
+    }
+
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
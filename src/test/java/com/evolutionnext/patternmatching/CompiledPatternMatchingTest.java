@@ -0,0 +1,172 @@
+package com.evolutionnext.patternmatching;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CompiledPatternMatchingTest {
+
+    @Test
+    void testSameOutputAsPatternMatching() {
+        for (Object input : mixedInputs()) {
+            assertThat(CompiledPatternMatching.formatterPatternSwitch(input)).isEqualTo(PatternMatching.formatterPatternSwitch(input));
+            assertThat(CompiledPatternMatching.matchRecordPatterns(input)).isEqualTo(PatternMatching.matchRecordPatterns(input));
+            assertThat(CompiledPatternMatching.matchRecordPatternsWhen(input)).isEqualTo(PatternMatching.matchRecordPatternsWhen(input));
+        }
+    }
+
+    @Test
+    void testSameOutputInOtherLocales() {
+        Locale original = Locale.getDefault(Locale.Category.FORMAT);
+        try {
+            for (Locale locale : List.of(Locale.GERMANY, Locale.forLanguageTag("th-TH-u-nu-thai"), Locale.forLanguageTag("ar-EG"))) {
+                Locale.setDefault(Locale.Category.FORMAT, locale);
+                for (Object input : List.of(-1234, 5L, 3.14159265, -0.0000004, 1e21, "s")) {
+                    assertThat(CompiledPatternMatching.formatterPatternSwitch(input))
+                        .as("%s in %s", input, locale)
+                        .isEqualTo(PatternMatching.formatterPatternSwitch(input));
+                }
+            }
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, original);
+        }
+    }
+
+    @Test
+    void testFixedPointMatchesStringFormat() {
+        CompiledFormat format = CompiledFormat.compile("%f");
+        SplittableRandom random = new SplittableRandom(22);
+        List<Double> values = new ArrayList<>(List.of(0.0, -0.0, 0.5, 0.0000005, 0.0000004999, 0.9999995, 1e-300, Double.MIN_VALUE,
+            Double.MAX_VALUE, -Double.MAX_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0.00123456789));
+        for (int i = 0; i < 200_000; i++) {
+            values.add(switch (i % 4) {
+                case 0 -> random.nextDouble() * 1_000;
+                case 1 -> Double.longBitsToDouble(random.nextLong());
+                case 2 -> random.nextInt(2_000_000) / 1e6 - 1;
+                default -> random.nextDouble() * 1e-4;
+            });
+        }
+        for (double value : values) assertThat(format.format(value)).as("%s", value).isEqualTo(String.format("%f", value));
+    }
+
+    @Test
+    void testCompiledFormatConversions() {
+        assertThat(CompiledFormat.compile("%d%% of %s%n").format(50, null)).isEqualTo(String.format("%d%% of %s%n", 50, null));
+        assertThat(CompiledFormat.compile("big %d").format(BigInteger.TEN.pow(30))).isEqualTo("big 1" + "0".repeat(30));
+        assertThat(CompiledFormat.compile("%s-%s").arguments()).isEqualTo(2);
+        assertThatThrownBy(() -> CompiledFormat.compile("%5d")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompiledFormat.compile("%s %s").format("one"))
+            .isInstanceOf(java.util.MissingFormatArgumentException.class);
+    }
+
+    @Test
+    void testFormatToWritesSameOutput() throws IOException {
+        List<Object> inputs = new ArrayList<>(mixedInputs());
+        inputs.addAll(List.of("caf\u00e9 \u20ac \uD83D\uDE00", "broken \uD800 surrogate", 1234567.0));
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        StringBuilder builder = new StringBuilder("prefix:");
+        for (Object input : inputs) {
+            String expected = PatternMatching.formatterPatternSwitch(input);
+
+            builder.setLength(7);
+            assertThat(CompiledPatternMatching.formatTo(input, builder)).hasToString("prefix:" + expected);
+
+            StringWriter writer = new StringWriter();
+            assertThat(CompiledPatternMatching.formatTo(input, writer)).hasToString(expected);
+            CharBuffer chars = CharBuffer.allocate(256);
+            CompiledPatternMatching.formatTo(input, (Appendable) chars);
+            assertThat(chars.flip().toString()).isEqualTo(expected);
+
+            buffer.clear();
+            int written = CompiledPatternMatching.formatTo(input, buffer);
+            byte[] bytes = Arrays.copyOf(buffer.array(), buffer.position());
+            assertThat(bytes).as("%s", input).isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+            assertThat(written).isEqualTo(bytes.length);
+        }
+    }
+
+    @Test
+    void testFormatWinningRecordTo() throws IOException {
+        for (Team team : List.of(new Team("Seattle", "Mariners", 30, 12), new Team("Z\u00fcrich", "Lions", 200, 300))) {
+            String expected = PatternMatching.matchRecordPatternsWithWinningRecords(team);
+            assertThat(CompiledPatternMatching.matchRecordPatternsWithWinningRecords(team)).isEqualTo(expected);
+            assertThat(CompiledPatternMatching.formatWinningRecordTo(team, new StringBuilder())).hasToString(expected);
+            assertThat(CompiledPatternMatching.formatWinningRecordTo(team, new StringWriter())).hasToString(expected);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(128);
+            CompiledPatternMatching.formatWinningRecordTo(team, buffer);
+            byte[] bytes = new byte[buffer.flip().remaining()];
+            buffer.get(bytes);
+            assertThat(bytes).isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testFormatToFromToStringOfDefaultCase() throws IOException {
+        record Nested(Object inner) {
+            @Override
+            public String toString() {
+                try {
+                    ByteBuffer buffer = ByteBuffer.allocate(64);
+                    int length = CompiledPatternMatching.formatTo(inner, buffer);
+                    return "nested " + CompiledPatternMatching.formatTo(inner, new StringWriter()) + " / "
+                        + new String(buffer.array(), 0, length, StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+
+        assertThat(CompiledPatternMatching.formatTo(new Nested(42), new StringWriter())).hasToString("nested int 42 / int 42");
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        int length = CompiledPatternMatching.formatTo(new Nested("x"), buffer);
+        assertThat(new String(buffer.array(), 0, length, StandardCharsets.UTF_8)).isEqualTo("nested String x / String x");
+    }
+
+    @Test
+    void testFormatToByteBufferOverflowLeavesBufferUntouched() {
+        ByteBuffer small = ByteBuffer.allocate(5);
+        assertThatThrownBy(() -> CompiledPatternMatching.formatTo("too long for it", small))
+            .isInstanceOf(BufferOverflowException.class);
+        assertThat(small.position()).isZero();
+    }
+
+    @Test
+    void testDispatcherFollowsDeclarationOrderAndGuards() {
+        PatternDispatcher<Void, String> dispatcher = PatternDispatcher.<Void, String>builder()
+            .match(Integer.class, i -> i < 0, (_, _) -> "negative")
+            .match(Number.class, (n, _) -> "number " + n)
+            .match(Integer.class, (_, _) -> "unreachable")
+            .otherwise((o, _) -> "other " + o);
+
+        assertThat(dispatcher.apply(-1, null)).isEqualTo("negative");
+        assertThat(dispatcher.apply(1, null)).isEqualTo("number 1");
+        assertThat(dispatcher.apply(2.5, null)).isEqualTo("number 2.5");
+        assertThat(dispatcher.apply("x", null)).isEqualTo("other x");
+        assertThatThrownBy(() -> dispatcher.apply(null, null)).isInstanceOf(NullPointerException.class);
+
+        PatternDispatcher<Void, String> partial = PatternDispatcher.<Void, String>builder()
+            .match(String.class, (s, _) -> s)
+            .build();
+        assertThatThrownBy(() -> partial.apply(1, null)).isInstanceOf(MatchException.class);
+    }
+
+    private static List<Object> mixedInputs() {
+        return List.of(42, -7, Integer.MIN_VALUE, 42L, Long.MAX_VALUE, 3.5, -2.0000005, 1e-7, 123456.789e3, "Hello", "",
+            new Team("Seattle", "Mariners", 30, 12), new Team("Minnesota", "Twins", 300, 1200),
+            new Team("Milwaukee", "Brewers", 0, 0), 'c', 1.5f, new StringBuilder("sb"));
+    }
+}
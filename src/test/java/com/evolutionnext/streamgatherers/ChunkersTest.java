@@ -0,0 +1,61 @@
+package com.evolutionnext.streamgatherers;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+public class ChunkersTest {
+
+    @Test
+    void testIntChunksWithRemainder() {
+        List<IntChunk> chunks = IntStream.rangeClosed(1, 53).boxed().gather(Chunkers.ints(10)).toList();
+
+        Assertions.assertThat(chunks).hasSize(6);
+        Assertions.assertThat(chunks.get(0)).isEqualTo(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        Assertions.assertThat(chunks.get(5)).isEqualTo(List.of(51, 52, 53));
+        Assertions.assertThat(chunks.get(5).toIntArray()).containsExactly(51, 52, 53);
+        Assertions.assertThat(chunks.get(4).sum()).isEqualTo(455);
+    }
+
+    @Test
+    void testIntChunksWithMapper() {
+        record Reading(String sensor, int value) {}
+        List<IntChunk> chunks = Stream.of(new Reading("a", 3), new Reading("b", 4), new Reading("c", 5))
+            .gather(Chunkers.ints(2, Reading::value))
+            .toList();
+
+        Assertions.assertThat(chunks).extracting(IntChunk::sum).containsExactly(7L, 5L);
+    }
+
+    @Test
+    void testLongAndDoubleChunks() {
+        List<LongChunk> longs = LongStream.range(0, 6).boxed().gather(Chunkers.longs(3)).toList();
+        Assertions.assertThat(longs).isEqualTo(List.of(List.of(0L, 1L, 2L), List.of(3L, 4L, 5L)));
+
+        List<DoubleChunk> doubles = Stream.of(0.5, 1.5, 2.0).gather(Chunkers.doubles(2)).toList();
+        Assertions.assertThat(doubles.get(0).doubleStream().sum()).isEqualTo(2.0);
+        Assertions.assertThat(doubles.get(1)).containsExactly(2.0);
+    }
+
+    @Test
+    void testChunksAreImmutable() {
+        IntChunk chunk = Stream.of(1, 2).gather(Chunkers.ints(2)).findFirst().orElseThrow();
+        Assertions.assertThatThrownBy(() -> chunk.set(0, 10)).isInstanceOf(UnsupportedOperationException.class);
+        Assertions.assertThatThrownBy(() -> chunk.getInt(2)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testChunksStopWhenDownstreamShortCircuits() {
+        List<IntChunk> chunks = Stream.iterate(1, i -> i + 1).gather(Chunkers.ints(5)).limit(2).toList();
+        Assertions.assertThat(chunks).isEqualTo(List.of(List.of(1, 2, 3, 4, 5), List.of(6, 7, 8, 9, 10)));
+    }
+
+    @Test
+    void testInvalidChunkSize() {
+        Assertions.assertThatThrownBy(() -> Chunkers.ints(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
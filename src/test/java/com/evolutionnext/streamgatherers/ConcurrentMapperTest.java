@@ -0,0 +1,109 @@
+package com.evolutionnext.streamgatherers;
+
+import com.evolutionnext.streamgatherers.ConcurrentMapper.Failure;
+import com.evolutionnext.streamgatherers.ConcurrentMapper.Outcome;
+import com.evolutionnext.streamgatherers.ConcurrentMapper.Success;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.evolutionnext.streamgatherers.ConcurrentMapper.mapConcurrent;
+import static com.evolutionnext.streamgatherers.ConcurrentMapper.mapConcurrentUnordered;
+
+public class ConcurrentMapperTest {
+
+    private static Integer slowFirst(Integer i) {
+        sleep(i == 0 ? 300 : 1);
+        return i * 10;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    void testOrderedKeepsEncounterOrder() {
+        List<Outcome<Integer, Integer>> outcomes = IntStream.range(0, 20).boxed()
+            .gather(mapConcurrent(5, ConcurrentMapperTest::slowFirst))
+            .toList();
+
+        Assertions.assertThat(outcomes).extracting(Outcome::input).isEqualTo(IntStream.range(0, 20).boxed().toList());
+        Assertions.assertThat(outcomes).allMatch(o -> o instanceof Success<Integer, Integer>(Integer in, Integer out) && out == in * 10);
+    }
+
+    @Test
+    void testUnorderedEmitsAsCompleted() {
+        ConcurrentMapper.Metrics metrics = new ConcurrentMapper.Metrics();
+        List<Integer> inputs = IntStream.range(0, 20).boxed()
+            .gather(mapConcurrentUnordered(5, ConcurrentMapperTest::slowFirst).withMetrics(metrics))
+            .map(Outcome::input)
+            .toList();
+
+        Assertions.assertThat(inputs).containsExactlyInAnyOrderElementsOf(IntStream.range(0, 20).boxed().toList());
+        Assertions.assertThat(inputs.getFirst()).isNotZero();
+        Assertions.assertThat(metrics.succeeded()).isEqualTo(20);
+        Assertions.assertThat(metrics.inFlight()).isZero();
+        Assertions.assertThat(metrics.queued()).isZero();
+    }
+
+    @Test
+    void testFailuresAndTimeoutsAreIsolatedPerElement() {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        List<Outcome<Integer, Integer>> outcomes = IntStream.range(0, 6).boxed()
+            .gather(mapConcurrent(3, (Integer i) -> {
+                if (i == 2) throw new IllegalArgumentException("bad " + i);
+                if (i == 4) {
+                    try {
+                        Thread.sleep(5_000);
+                    } catch (InterruptedException e) {
+                        interrupted.set(true);
+                    }
+                }
+                return i;
+            }).withTimeout(Duration.ofMillis(100)))
+            .toList();
+
+        Assertions.assertThat(outcomes).hasSize(6);
+        Assertions.assertThat(outcomes.get(2)).isInstanceOfSatisfying(Failure.class,
+            f -> Assertions.assertThat(f.error()).isInstanceOf(IllegalArgumentException.class).hasMessage("bad 2"));
+        Assertions.assertThat(outcomes.get(4)).isInstanceOfSatisfying(Failure.class,
+            f -> Assertions.assertThat(f.error()).isInstanceOf(TimeoutException.class));
+        Assertions.assertThat(outcomes.get(5)).isEqualTo(new Success<>(5, 5));
+        for (int wait = 0; wait < 100 && !interrupted.get(); wait++) sleep(10);
+        Assertions.assertThat(interrupted).isTrue();
+    }
+
+    @Test
+    void testTimedOutMapperKeepsItsSlotUntilItReturns() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Outcome<Integer, Integer>> outcomes = IntStream.range(0, 6).boxed()
+            .gather(mapConcurrent(2, (Integer i) -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                long end = System.nanoTime() + 200_000_000L;
+                for (long left; (left = end - System.nanoTime()) > 0; ) {
+                    try {
+                        Thread.sleep(Duration.ofNanos(left));
+                    } catch (InterruptedException _) {
+                        // Ignores the interrupt the timeout sends
+                    }
+                }
+                running.decrementAndGet();
+                return i;
+            }).withTimeout(Duration.ofMillis(20)))
+            .toList();
+
+        Assertions.assertThat(outcomes).hasSize(6).allMatch(o -> o instanceof Failure<Integer, Integer>(_, TimeoutException _));
+        Assertions.assertThat(maxRunning.get()).isBetween(1, 2);
+    }
+}
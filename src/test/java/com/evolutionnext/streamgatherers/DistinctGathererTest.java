@@ -0,0 +1,84 @@
+package com.evolutionnext.streamgatherers;
+
+import com.evolutionnext.unnamedvariables.Order;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class DistinctGathererTest {
+
+    private static final List<Order> ORDERS = List.of(
+        new Order("CA", 10), new Order("NY", 20), new Order("CA", 30),
+        new Order("TX", 40), new Order("NY", 50), new Order("WA", 60));
+
+    @Test
+    void testDistinctByKeepsFirstOfEachKey() {
+        Assertions.assertThat(ORDERS.stream().gather(DistinctGatherer.distinctBy(Order::state)).map(Order::amount))
+            .containsExactly(10, 20, 40, 60);
+        Assertions.assertThat(ORDERS.stream().gather(DistinctGatherer.distinctByLong(o -> o.amount() / 30)).map(Order::amount))
+            .containsExactly(10, 30, 60);
+    }
+
+    @Test
+    void testDistinctByLongMatchesDistinct() {
+        List<Long> values = new Random(19).longs(100_000, -5_000, 5_000).boxed().toList();
+        Assertions.assertThat(values.stream().gather(DistinctGatherer.distinctByLong(Long::longValue)).toList())
+            .isEqualTo(values.stream().distinct().toList());
+    }
+
+    @Test
+    void testDistinctByCombiningInParallelKeepsEncounterOrder() {
+        List<Integer> values = new Random(190).ints(200_000, 0, 1_000).boxed().toList();
+        Assertions.assertThat(values.parallelStream().gather(DistinctGatherer.distinctByCombining(i -> i)).toList())
+            .isEqualTo(values.stream().distinct().toList());
+    }
+
+    @Test
+    void testDistinctByRecentForgetsEvictedKeys() {
+        Assertions.assertThat(Stream.of(1, 2, 1, 3, 4, 1, 2).gather(DistinctGatherer.distinctByRecent(i -> i, 2)))
+            .containsExactly(1, 2, 3, 4, 1, 2);
+        Assertions.assertThat(Stream.of(1, 2, 1, 3, 1, 4, 1).gather(DistinctGatherer.distinctByRecent(i -> i, 2)))
+            .containsExactly(1, 2, 3, 4);
+    }
+
+    @Test
+    void testDistinctByWithinWindow() {
+        AtomicLong everyFour = new AtomicLong();
+        Assertions.assertThat(Stream.of(1, 1, 2, 1, 2, 1)
+                .gather(DistinctGatherer.<Integer, Integer>distinctByWithin(i -> i, Duration.ofNanos(10), () -> everyFour.getAndAdd(4))))
+            .containsExactly(1, 2);
+        AtomicLong everySix = new AtomicLong();
+        Assertions.assertThat(Stream.of(1, 1, 2, 1, 2, 1)
+                .gather(DistinctGatherer.<Integer, Integer>distinctByWithin(i -> i, Duration.ofNanos(10), () -> everySix.getAndAdd(6))))
+            .containsExactly(1, 2, 1, 2, 1);
+    }
+
+    @Test
+    void testDistinctByApproximateNeverEmitsDuplicates() {
+        List<Integer> values = new Random(191).ints(100_000, 0, 20_000).boxed().toList();
+        List<Integer> result = values.stream().gather(DistinctGatherer.distinctByApproximate(i -> i, 20_000, 0.01)).toList();
+        long exact = values.stream().distinct().count();
+        Assertions.assertThat(result).doesNotHaveDuplicates();
+        Assertions.assertThat((double) result.size()).isBetween(exact * 0.97, (double) exact);
+    }
+
+    @Test
+    void testBloomFilterSizingAndMerge() {
+        BloomFilter<Integer> left = new BloomFilter<>(1_000, 0.01);
+        BloomFilter<Integer> right = new BloomFilter<>(1_000, 0.01);
+        IntStream.range(0, 500).forEach(left::put);
+        IntStream.range(500, 1_000).forEach(right::put);
+        left.merge(right);
+        Assertions.assertThat(left.hashCount()).isEqualTo(7);
+        Assertions.assertThat(IntStream.range(0, 1_000).allMatch(left::mightContain)).isTrue();
+        Assertions.assertThat(IntStream.range(1_000, 101_000).filter(left::mightContain).count()).isLessThan(2_000);
+        Assertions.assertThatThrownBy(() -> left.merge(new BloomFilter<>(10, 0.01)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,100 @@
+package com.evolutionnext.streamgatherers;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Gatherer;
+import java.util.stream.Gatherers;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.evolutionnext.streamgatherers.FusedGatherer.fuse;
+
+public class FusedGathererTest {
+
+    @Test
+    void testFusedScanAndFoldMatchesAndThen() {
+        Gatherer<Integer, ?, Integer> sc = Gatherers.scan(() -> 100, (current, next) -> current + next);
+        Gatherer<Integer, ?, String> fo = Gatherers.fold(() -> "", (result, element) -> result.isEmpty() ? element.toString() : result + ";" + element);
+
+        String expected = Stream.of(1, 2, 3, 4, 5, 6, 7, 8, 9).gather(sc.andThen(fo)).findFirst().orElseThrow();
+        String fused = Stream.of(1, 2, 3, 4, 5, 6, 7, 8, 9)
+            .gather(FusedGatherer.<Integer>fuse()
+                .scan(() -> 100, (Integer current, Integer next) -> current + next)
+                .fold(() -> "", (String result, Integer element) -> result.isEmpty() ? element.toString() : result + ";" + element)
+                .toGatherer())
+            .findFirst()
+            .orElseThrow();
+
+        Assertions.assertThat(fused).isEqualTo(expected).startsWith("101;103;106");
+    }
+
+    @Test
+    void testFusedStatelessChainRunsInParallel() {
+        List<Integer> expected = IntStream.range(0, 10_000).boxed()
+            .mapMulti((Integer e, Consumer<Integer> down) -> {
+                down.accept(e);
+                down.accept(e + 1);
+                down.accept(e + 2);
+            })
+            .map(i -> i * 3)
+            .filter(i -> i % 2 == 0)
+            .flatMap(i -> Stream.of(i, -i))
+            .toList();
+
+        List<Integer> fused = IntStream.range(0, 10_000).boxed().parallel()
+            .gather(FusedGatherer.<Integer>fuse()
+                .<Integer>mapMulti((e, down) -> {
+                    down.accept(e);
+                    down.accept(e + 1);
+                    down.accept(e + 2);
+                })
+                .map(i -> i * 3)
+                .filter(i -> i % 2 == 0)
+                .flatMap(i -> Stream.of(i, -i))
+                .toGatherer())
+            .toList();
+
+        Assertions.assertThat(fused).isEqualTo(expected);
+    }
+
+    @Test
+    void testFusedMapsAndFiltersMatchStream() {
+        List<String> expected = IntStream.range(0, 10_000).boxed()
+            .filter(i -> i % 3 != 0)
+            .map(i -> i * 7)
+            .filter(i -> i % 2 == 0)
+            .map(i -> "#" + i)
+            .toList();
+
+        List<String> fused = IntStream.range(0, 10_000).boxed().parallel()
+            .gather(FusedGatherer.<Integer>fuse()
+                .filter(i -> i % 3 != 0)
+                .map(i -> i * 7)
+                .filter(i -> i % 2 == 0)
+                .map(i -> "#" + i)
+                .toGatherer())
+            .toList();
+
+        Assertions.assertThat(fused).isEqualTo(expected);
+        Assertions.assertThat(Stream.of(1, 2, 3).gather(FusedGatherer.<Integer>fuse().toGatherer()).toList())
+            .containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void testFusedChainShortCircuits() {
+        List<String> firstThree = Stream.iterate(1, i -> i + 1)
+            .gather(fuse().<Integer>map(i -> (Integer) i * 2)
+                .<Integer>mapMulti((i, down) -> {
+                    for (int j = 0; j < 1_000; j++) down.accept(i);
+                })
+                .scan(() -> "", (String s, Integer i) -> s + i)
+                .toGatherer())
+            .limit(3)
+            .toList();
+
+        Assertions.assertThat(firstThree).containsExactly("2", "22", "222");
+    }
+}
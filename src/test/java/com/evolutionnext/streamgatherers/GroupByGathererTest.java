@@ -23,4 +23,61 @@ public class GroupByGathererTest {
         Assertions.assertThat(results.get("even")).containsExactly(2, 4, 6, 8);
         Assertions.assertThat(results.get("odd")).containsExactly(1, 3, 5, 7, 9);
     }
+
+    @Test
+    void testGroupByGathererInParallelKeepsEncounterOrder() {
+        Map<Integer, List<Integer>> results = IntStream.range(0, 100_000).boxed().parallel()
+            .gather(GroupByGatherer.GroupBy.groupBy(i -> i % 3))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        Assertions.assertThat(results).containsOnlyKeys(0, 1, 2);
+        Assertions.assertThat(results.get(0)).isSorted().hasSize(33_334);
+        Assertions.assertThat(results.get(1)).isSorted().hasSize(33_333);
+        Assertions.assertThat(results.get(2)).isSorted().hasSize(33_333);
+    }
+
+    @Test
+    void testGroupByUnorderedGathererInParallel() {
+        Map<Integer, List<Integer>> results = IntStream.range(0, 100_000).boxed().parallel().unordered()
+            .gather(GroupByGatherer.GroupBy.groupByUnordered(i -> i % 3))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        Assertions.assertThat(results.get(0)).hasSize(33_334).allMatch(i -> i % 3 == 0);
+        Assertions.assertThat(results.get(1)).hasSize(33_333).allMatch(i -> i % 3 == 1);
+        Assertions.assertThat(results.get(2)).hasSize(33_333).allMatch(i -> i % 3 == 2);
+    }
+
+    @Test
+    void testGroupByReducingInParallelMatchesGroupingBy() {
+        Map<Integer, Long> counts = IntStream.range(0, 100_000).boxed().parallel()
+            .gather(GroupByGatherer.GroupBy.groupByCounting(i -> i % 7))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        Map<Integer, Long> sums = IntStream.range(0, 100_000).boxed().parallel()
+            .gather(GroupByGatherer.GroupBy.groupBySummingLong((Integer i) -> i % 7, i -> i))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        Map<Integer, Integer> maxima = IntStream.range(0, 100_000).boxed().parallel()
+            .gather(GroupByGatherer.GroupBy.groupByReducing((Integer i) -> i % 7, Integer.MIN_VALUE, Math::max))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        Assertions.assertThat(counts).isEqualTo(IntStream.range(0, 100_000).boxed()
+            .collect(Collectors.groupingBy(i -> i % 7, Collectors.counting())));
+        Assertions.assertThat(sums).isEqualTo(IntStream.range(0, 100_000).boxed()
+            .collect(Collectors.groupingBy(i -> i % 7, Collectors.summingLong(i -> i))));
+        Assertions.assertThat(maxima).containsEntry(0, 99_995).containsEntry(6, 99_994).hasSize(7);
+    }
+
+    @Test
+    void testGroupByCollectingKeepsEncounterOrderInParallel() {
+        Map<String, String> joined = IntStream.range(0, 1_000).boxed().parallel()
+            .gather(GroupByGatherer.GroupBy.groupByCollecting((Integer i) -> i % 2 == 0 ? "even" : "odd",
+                Collectors.mapping(String::valueOf, Collectors.joining(","))))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        Assertions.assertThat(joined.get("even")).startsWith("0,2,4,6").endsWith("996,998");
+        Assertions.assertThat(joined.get("odd")).startsWith("1,3,5").endsWith("997,999");
+        Assertions.assertThat(Stream.of(1.5, 2.5, 4.0)
+                .gather(GroupByGatherer.GroupBy.groupBySummingDouble((Double d) -> "all", d -> d))
+                .toList())
+            .containsExactly(Map.entry("all", 8.0));
+    }
 }
@@ -0,0 +1,77 @@
+package com.evolutionnext.streamgatherers;
+
+import com.evolutionnext.streamgatherers.InstrumentedGatherers.GathererMetrics;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Gatherer;
+import java.util.stream.Gatherers;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.evolutionnext.streamgatherers.InstrumentedGatherers.instrumented;
+
+public class InstrumentedGatherersTest {
+
+    @Test
+    void testCountsElementsPushesAndRejections() {
+        Gatherer<Integer, Void, Integer> customFlatMap = Gatherer.of((_, element, downstream) ->
+            downstream.push(element) && downstream.push(element + 1) && downstream.push(element + 2));
+        GathererMetrics metrics = InstrumentedGatherers.metrics("flatMap");
+        metrics.reset();
+
+        Gatherer<Integer, int[], Integer> takeSeven = Gatherer.ofSequential(() -> new int[1],
+            (taken, element, downstream) -> downstream.push(element) && ++taken[0] < 7);
+
+        List<Integer> result = Stream.of(1, 2, 3, 4, 5).gather(instrumented(customFlatMap, "flatMap").andThen(takeSeven)).toList();
+
+        Assertions.assertThat(result).containsExactly(1, 2, 3, 2, 3, 4, 3);
+        Assertions.assertThat(metrics.evaluations()).isEqualTo(1);
+        Assertions.assertThat(metrics.elements()).isEqualTo(3);
+        Assertions.assertThat(metrics.pushes()).isEqualTo(7);
+        Assertions.assertThat(metrics.rejected()).isEqualTo(1);
+        Assertions.assertThat(metrics.shortCircuits()).isEqualTo(1);
+        Assertions.assertThat(metrics.integratorNanosHistogram()).containsAnyOf(1L);
+    }
+
+    @Test
+    void testCombinesInParallelAndKeepsSequentialGatherersSequential() {
+        GathererMetrics metrics = InstrumentedGatherers.metrics("parallelMap");
+        metrics.reset();
+
+        List<Integer> doubled = IntStream.range(0, 100_000).boxed().parallel()
+            .gather(instrumented(Gatherer.<Integer, Integer>of((_, e, downstream) -> downstream.push(e * 2)), "parallelMap"))
+            .toList();
+
+        Assertions.assertThat(doubled).hasSize(100_000).startsWith(0, 2, 4);
+        Assertions.assertThat(metrics.elements()).isEqualTo(100_000);
+        Assertions.assertThat(metrics.pushes()).isEqualTo(100_000);
+        Assertions.assertThat(metrics.combines()).isPositive();
+        Assertions.assertThat(metrics.evaluations()).isEqualTo(1);
+
+        Assertions.assertThat(IntStream.rangeClosed(1, 5).boxed().parallel()
+                .gather(instrumented(Gatherers.scan(() -> 0, Integer::sum), "scan"))
+                .toList())
+            .containsExactly(1, 3, 6, 10, 15);
+        Assertions.assertThat(InstrumentedGatherers.metrics("scan").combines()).isZero();
+    }
+
+    @Test
+    void testSwitchedOffRecordsNothing() {
+        GathererMetrics metrics = InstrumentedGatherers.metrics("off");
+        metrics.reset();
+        InstrumentedGatherers.setEnabled(false);
+        try {
+            List<Integer> result = Stream.of(1, 2, 3)
+                .gather(instrumented(Gatherers.windowFixed(2), "off"))
+                .map(List::size)
+                .toList();
+            Assertions.assertThat(result).containsExactly(2, 1);
+        } finally {
+            InstrumentedGatherers.setEnabled(true);
+        }
+        Assertions.assertThat(metrics.evaluations()).isZero();
+        Assertions.assertThat(metrics.elements()).isZero();
+    }
+}
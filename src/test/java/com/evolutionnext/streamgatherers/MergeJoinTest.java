@@ -0,0 +1,199 @@
+package com.evolutionnext.streamgatherers;
+
+import com.evolutionnext.streamgatherers.zipper.MergeJoiner.JoinType;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.evolutionnext.streamgatherers.zipper.Zippers.mergeJoin;
+import static com.evolutionnext.streamgatherers.zipper.Zippers.mergeJoinAll;
+import static com.evolutionnext.streamgatherers.zipper.Zippers.zipN;
+
+public class MergeJoinTest {
+
+    record Account(int id, String owner) {}
+
+    record Payment(int accountId, int amount) {}
+
+    @Test
+    void testZipN() {
+        List<String> rows = Stream.of(1, 2, 3, 4)
+            .gather(zipN(Stream.of(10, 20, 30), Stream.of(100, 200, 300, 400)).with(List::toString))
+            .toList();
+
+        Assertions.assertThat(rows).containsExactly("[1, 10, 100]", "[2, 20, 200]", "[3, 30, 300]");
+    }
+
+    @Test
+    void testZipNOfDifferentTypes() {
+        List<String> rows = Stream.of(1, 2)
+            .gather(zipN(Stream.of("a", "b"), Stream.of(true, false), Stream.of(1.5, 2.5)).with(List::toString))
+            .toList();
+
+        Assertions.assertThat(rows).containsExactly("[1, a, true, 1.5]", "[2, b, false, 2.5]");
+    }
+
+    @Test
+    void testThreeWayMergeJoin() {
+        record Refund(int accountId, String reason) {}
+        List<Account> accounts = List.of(new Account(1, "Ann"), new Account(2, "Bo"), new Account(4, "Cy"));
+        List<Payment> payments = List.of(new Payment(1, 10), new Payment(1, 15), new Payment(3, 7), new Payment(4, 2));
+        List<Refund> refunds = List.of(new Refund(1, "dup"), new Refund(3, "late"), new Refund(5, "fraud"));
+
+        List<String> inner = accounts.stream()
+            .gather(mergeJoinAll(Account::id).and(payments.stream(), Payment::accountId).and(refunds.stream(), Refund::accountId)
+                .with(List::toString))
+            .toList();
+        Assertions.assertThat(inner).containsExactly(
+            "[Account[id=1, owner=Ann], Payment[accountId=1, amount=10], Refund[accountId=1, reason=dup]]",
+            "[Account[id=1, owner=Ann], Payment[accountId=1, amount=15], Refund[accountId=1, reason=dup]]");
+
+        List<String> outer = accounts.stream()
+            .gather(mergeJoinAll(Account::id).and(payments.stream(), Payment::accountId).and(refunds.stream(), Refund::accountId)
+                .with(JoinType.OUTER, row -> row.stream().map(o -> o == null ? "-" : "x").collect(Collectors.joining())))
+            .toList();
+        Assertions.assertThat(outer).containsExactly("xxx", "xxx", "x--", "-xx", "xx-", "--x");
+    }
+
+    @Test
+    void testMultiMergeJoinMatchesNestedLoopJoin() {
+        Random random = new Random(88);
+        for (int run = 0; run < 50; run++) {
+            List<Integer> first = sortedKeys(random);
+            List<Integer> second = sortedKeys(random);
+            List<Integer> third = sortedKeys(random);
+            for (JoinType joinType : List.of(JoinType.INNER, JoinType.LEFT, JoinType.OUTER)) {
+                List<String> actual = first.stream()
+                    .gather(mergeJoinAll((Integer k) -> k).and(second.stream(), (Integer k) -> k).and(third.stream(), (Integer k) -> k)
+                        .with(joinType, List::toString))
+                    .sorted()
+                    .toList();
+
+                Assertions.assertThat(actual).as("%s join of %s, %s and %s", joinType, first, second, third)
+                    .isEqualTo(nestedLoopJoin(List.of(first, second, third), joinType));
+            }
+        }
+    }
+
+    @Test
+    void testMultiMergeJoinRejectsRightAndUnsortedSides() {
+        Assertions.assertThatThrownBy(() -> mergeJoinAll((Integer k) -> k).and(Stream.of(1), (Integer k) -> k).with(JoinType.RIGHT, List::toString))
+            .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> Stream.of(1, 2)
+                .gather(mergeJoinAll((Integer k) -> k).and(Stream.of(2, 1), (Integer k) -> k).with(JoinType.LEFT, List::toString))
+                .toList())
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testInnerMergeJoin() {
+        List<Account> accounts = List.of(new Account(1, "Ann"), new Account(2, "Bo"), new Account(4, "Cy"));
+        List<Payment> payments = List.of(new Payment(1, 10), new Payment(1, 15), new Payment(3, 7), new Payment(4, 2));
+
+        List<String> joined = accounts.stream()
+            .gather(mergeJoin(payments.stream()).on(Account::id, Payment::accountId)
+                .with((a, p) -> a.owner() + ":" + p.amount()))
+            .toList();
+
+        Assertions.assertThat(joined).containsExactly("Ann:10", "Ann:15", "Cy:2");
+    }
+
+    @Test
+    void testOuterMergeJoin() {
+        List<Account> accounts = List.of(new Account(1, "Ann"), new Account(2, "Bo"), new Account(4, "Cy"));
+        List<Payment> payments = List.of(new Payment(0, 1), new Payment(1, 10), new Payment(3, 7), new Payment(9, 9));
+
+        List<String> joined = accounts.stream()
+            .gather(mergeJoin(payments.stream()).on(Account::id, Payment::accountId)
+                .with(JoinType.OUTER, (a, p) -> (a == null ? "-" : a.owner()) + ":" + (p == null ? "-" : p.amount())))
+            .toList();
+
+        Assertions.assertThat(joined).containsExactly("-:1", "Ann:10", "Bo:-", "-:7", "Cy:-", "-:9");
+    }
+
+    @Test
+    void testMergeJoinMatchesNestedLoopJoinForEveryJoinType() {
+        Random random = new Random(8);
+        for (int run = 0; run < 50; run++) {
+            List<Integer> left = sortedKeys(random);
+            List<Integer> right = sortedKeys(random);
+            for (JoinType joinType : JoinType.values()) {
+                List<String> actual = left.stream()
+                    .gather(mergeJoin(right.stream()).on((Integer l) -> l, (Integer r) -> r)
+                        .with(joinType, (l, r) -> l + "/" + r))
+                    .sorted()
+                    .toList();
+
+                Assertions.assertThat(actual).as("%s join of %s and %s", joinType, left, right)
+                    .isEqualTo(nestedLoopJoin(left, right, joinType));
+            }
+        }
+    }
+
+    @Test
+    void testMergeJoinWithComparatorAndUnsortedInput() {
+        List<String> joined = Stream.of("c", "b", "a")
+            .gather(mergeJoin(Stream.of("C", "A")).on((String l) -> l, (String r) -> r.toLowerCase(), Comparator.<String>reverseOrder())
+                .with((l, r) -> l + r))
+            .toList();
+        Assertions.assertThat(joined).containsExactly("cC", "aA");
+
+        Assertions.assertThatThrownBy(() -> Stream.of(2, 1)
+                .gather(mergeJoin(Stream.of(1, 2)).on((Integer l) -> l, (Integer r) -> r).with(JoinType.LEFT, (l, r) -> l))
+                .toList())
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static List<Integer> sortedKeys(Random random) {
+        return IntStream.range(0, random.nextInt(30)).map(_ -> random.nextInt(15)).sorted().boxed().toList();
+    }
+
+    /**
+     * Every combination of elements sharing a key, with {@code null} for a side that lacks it,
+     * kept if the join type keeps that key.
+     */
+    private static List<String> nestedLoopJoin(List<List<Integer>> sides, JoinType joinType) {
+        List<String> result = new ArrayList<>();
+        for (Integer key : sides.stream().flatMap(List::stream).distinct().toList()) {
+            List<List<Integer>> matches = sides.stream().map(side -> side.stream().filter(key::equals).toList()).toList();
+            boolean keep = switch (joinType) {
+                case INNER -> matches.stream().noneMatch(List::isEmpty);
+                case LEFT -> !matches.getFirst().isEmpty();
+                default -> true;
+            };
+            if (!keep) continue;
+            List<List<Integer>> rows = List.of(List.of());
+            for (List<Integer> match : matches) {
+                List<Integer> values = match.isEmpty() ? Collections.singletonList(null) : match;
+                rows = rows.stream().flatMap(row -> values.stream().<List<Integer>>map(value -> {
+                    List<Integer> longer = new ArrayList<>(row);
+                    longer.add(value);
+                    return longer;
+                })).toList();
+            }
+            rows.forEach(row -> result.add(row.toString()));
+        }
+        return result.stream().sorted().toList();
+    }
+
+    private static List<String> nestedLoopJoin(List<Integer> left, List<Integer> right, JoinType joinType) {
+        List<String> result = new ArrayList<>();
+        for (Integer l : left) {
+            List<Integer> matches = right.stream().filter(l::equals).toList();
+            matches.forEach(r -> result.add(l + "/" + r));
+            if (matches.isEmpty() && (joinType == JoinType.LEFT || joinType == JoinType.OUTER)) result.add(l + "/null");
+        }
+        if (joinType == JoinType.RIGHT || joinType == JoinType.OUTER) {
+            right.stream().filter(r -> !left.contains(r)).forEach(r -> result.add("null/" + r));
+        }
+        return result.stream().sorted().toList();
+    }
+}
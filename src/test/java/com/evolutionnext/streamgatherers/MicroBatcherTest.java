@@ -0,0 +1,130 @@
+package com.evolutionnext.streamgatherers;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.evolutionnext.streamgatherers.MicroBatcher.microBatch;
+
+public class MicroBatcherTest {
+
+    @Test
+    void testBatchesPreserveOrderAndBoundInFlight() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<List<Integer>> batches = IntStream.range(0, 1_000).boxed()
+            .gather(microBatch(32, Duration.ofSeconds(10), 4, (List<Integer> batch) -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(batch.getFirst() % 3);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                running.decrementAndGet();
+                return batch;
+            }))
+            .toList();
+
+        Assertions.assertThat(batches).hasSize(32).allMatch(b -> b.size() <= 32);
+        Assertions.assertThat(batches.stream().flatMap(List::stream).toList())
+            .isEqualTo(IntStream.range(0, 1_000).boxed().toList());
+        Assertions.assertThat(maxRunning.get()).isBetween(1, 4);
+    }
+
+    @Test
+    void testLingerFlushesWhileUpstreamStalls() {
+        List<List<Integer>> flushedBeforeLastElement = new CopyOnWriteArrayList<>();
+        List<List<Integer>> sunk = new CopyOnWriteArrayList<>();
+
+        List<Integer> sizes = IntStream.range(0, 4).boxed()
+            .peek(i -> {
+                if (i == 3) {
+                    try {
+                        Thread.sleep(500);
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    flushedBeforeLastElement.addAll(sunk);
+                }
+            })
+            .gather(microBatch(100, Duration.ofMillis(50), 2, (List<Integer> batch) -> {
+                sunk.add(batch);
+                return batch.size();
+            }))
+            .toList();
+
+        Assertions.assertThat(flushedBeforeLastElement).containsExactly(List.of(0, 1, 2));
+        Assertions.assertThat(sizes).containsExactly(3, 1);
+    }
+
+    @Test
+    void testLingerFlushesBatchThatExpiredWhileWindowWasFull() {
+        List<Integer> sizes = IntStream.range(0, 5).boxed()
+            .peek(i -> {
+                if (i == 4) sleep(300);
+            })
+            .gather(microBatch(3, Duration.ofMillis(50), 1, (List<Integer> batch) -> {
+                if (batch.size() == 3) sleep(100);
+                return batch.size();
+            }))
+            .toList();
+
+        // [3] lingered past its deadline while [0, 1, 2] filled the window, so 4 starts a new batch
+        Assertions.assertThat(sizes).containsExactly(3, 1, 1);
+    }
+
+    @Test
+    void testTimerFlushesOnceWindowHasRoom() {
+        List<List<Integer>> flushedBeforeLastElement = new CopyOnWriteArrayList<>();
+        List<List<Integer>> sunk = new CopyOnWriteArrayList<>();
+
+        List<Integer> sizes = IntStream.range(0, 4).boxed()
+            .peek(i -> {
+                if (i == 2) {
+                    while (sunk.isEmpty()) sleep(1);
+                    sleep(50);
+                }
+                if (i == 3) flushedBeforeLastElement.addAll(sunk);
+            })
+            .gather(microBatch(2, Duration.ofMillis(50), 1, (List<Integer> batch) -> {
+                // Still running when 1 returns, so [0, 1] is pushed on 2's turn, with [2] open
+                if (batch.size() == 2) sleep(20);
+                sunk.add(batch);
+                return batch.size();
+            }))
+            .peek(size -> {
+                if (size == 2) sleep(400);
+            })
+            .toList();
+
+        // The stream thread is still pushing [0, 1] downstream when [2] lingers out
+        Assertions.assertThat(flushedBeforeLastElement).containsExactly(List.of(0, 1), List.of(2));
+        Assertions.assertThat(sizes).containsExactly(2, 1, 1);
+    }
+
+    @Test
+    void testSinkFailureSurfacesOnStreamThread() {
+        Assertions.assertThatThrownBy(() -> IntStream.range(0, 100).boxed()
+                .gather(microBatch(10, Duration.ofSeconds(1), 2, (List<Integer> batch) -> {
+                    if (batch.contains(42)) throw new IllegalStateException("sink down");
+                    return batch.size();
+                }))
+                .toList())
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("sink down");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
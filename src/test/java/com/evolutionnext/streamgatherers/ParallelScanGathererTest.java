@@ -0,0 +1,58 @@
+package com.evolutionnext.streamgatherers;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Gatherers;
+import java.util.stream.IntStream;
+
+public class ParallelScanGathererTest {
+
+    @Test
+    void testParallelScanMatchesSequentialScan() {
+        List<String> letters = IntStream.range(0, 2_000).mapToObj(i -> String.valueOf((char) ('a' + i % 26))).toList();
+
+        List<String> expected = letters.stream().gather(Gatherers.scan(() -> ">", String::concat)).toList();
+        List<String> actual = letters.parallelStream().gather(ParallelScanGatherer.scan(">", String::concat)).toList();
+
+        Assertions.assertThat(actual).isEqualTo(expected);
+        Assertions.assertThat(actual.get(2)).isEqualTo(">abc");
+    }
+
+    @Test
+    void testParallelScanLongMatchesSequentialScan() {
+        List<Long> ledger = new Random(3).longs(100_000, -1_000, 1_000).boxed().toList();
+
+        List<Long> expected = ledger.stream().gather(Gatherers.scan(() -> 500L, Long::sum)).toList();
+
+        Assertions.assertThat(ledger.parallelStream().gather(ParallelScanGatherer.scanLong(500L, Long::sum)).toList())
+            .isEqualTo(expected);
+        Assertions.assertThat(ledger.stream().gather(ParallelScanGatherer.scanLong(500L, Long::sum)).toList())
+            .isEqualTo(expected);
+        Assertions.assertThat(ledger.parallelStream().gather(ParallelScanGatherer.scanLong(Long.MIN_VALUE, Math::max)).toList())
+            .isEqualTo(ledger.stream().gather(Gatherers.scan(() -> Long.MIN_VALUE, Math::max)).toList());
+    }
+
+    @Test
+    void testParallelScanDoubleIsBitIdentical() {
+        List<Double> amounts = new Random(4).doubles(100_000, -1e6, 1e6).boxed().toList();
+
+        List<Double> expected = amounts.stream().gather(Gatherers.scan(() -> 0.1, Double::sum)).toList();
+
+        Assertions.assertThat(amounts.parallelStream().gather(ParallelScanGatherer.scanDouble(0.1, Double::sum)).toList())
+            .isEqualTo(expected);
+    }
+
+    @Test
+    void testParallelScanShortCircuitsAndHandlesEmptyInput() {
+        Assertions.assertThat(IntStream.rangeClosed(1, 10_000).boxed().parallel()
+                .gather(ParallelScanGatherer.scanLong(Integer::longValue, 0L, Long::sum))
+                .limit(4)
+                .toList())
+            .containsExactly(1L, 3L, 6L, 10L);
+        Assertions.assertThat(List.<Long>of().parallelStream().gather(ParallelScanGatherer.scanLong(0L, Long::sum)).toList())
+            .isEmpty();
+    }
+}
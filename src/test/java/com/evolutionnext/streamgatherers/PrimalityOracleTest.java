@@ -0,0 +1,48 @@
+package com.evolutionnext.streamgatherers;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+public class PrimalityOracleTest {
+
+    @Test
+    void testSievedRangeMatchesBigInteger() {
+        LongStream.range(-10, 200_000).forEach(n ->
+            Assertions.assertThat(PrimalityOracle.isPrime(n))
+                .as("isPrime(%d)", n)
+                .isEqualTo(n > 1 && BigInteger.valueOf(n).isProbablePrime(50)));
+    }
+
+    @Test
+    void testAroundSieveLimitMatchesBigInteger() {
+        long limit = PrimalityOracle.SIEVE_LIMIT;
+        LongStream.range(limit - 5_000, limit + 5_000).forEach(n ->
+            Assertions.assertThat(PrimalityOracle.isPrime(n))
+                .as("isPrime(%d)", n)
+                .isEqualTo(BigInteger.valueOf(n).isProbablePrime(50)));
+    }
+
+    @Test
+    void testLargeValuesMatchBigInteger() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            long n = random.nextLong() >>> (1 + random.nextInt(40));
+            Assertions.assertThat(PrimalityOracle.isPrime(n))
+                .as("isPrime(%d)", n)
+                .isEqualTo(n > 1 && BigInteger.valueOf(n).isProbablePrime(50));
+        }
+    }
+
+    @Test
+    void testStrongPseudoprimesAndExtremes() {
+        Assertions.assertThat(PrimalityOracle.isPrime(3_215_031_751L)).isFalse();
+        Assertions.assertThat(PrimalityOracle.isPrime(3_825_123_056_546_413_051L)).isFalse();
+        Assertions.assertThat(PrimalityOracle.isPrime(2_147_483_647L)).isTrue();
+        Assertions.assertThat(PrimalityOracle.isPrime(9_223_372_036_854_775_783L)).isTrue();
+        Assertions.assertThat(PrimalityOracle.isPrime(Long.MAX_VALUE)).isFalse();
+    }
+}
@@ -0,0 +1,52 @@
+package com.evolutionnext.streamgatherers;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class RunningSumGathererTest {
+
+    @Test
+    void testPrimeOrTenMatchesOriginalGatherer() {
+        List<List<Integer>> expected = IntStream.rangeClosed(1, 100).boxed()
+            .gather(PrimeOrTenGathererWithStatic.gatherer())
+            .toList();
+        List<IntChunk> actual = IntStream.rangeClosed(1, 100).boxed()
+            .gather(RunningSumGatherer.primeOrTen())
+            .toList();
+
+        Assertions.assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void testPrimeOrTenMatchesOriginalGathererOnRandomInput() {
+        List<Integer> input = new Random(23).ints(10_000, 0, 1_000_000).boxed().toList();
+        List<List<Integer>> expected = input.stream().gather(PrimeOrTenGatherer.gatherer()).toList();
+        List<IntChunk> actual = input.stream().gather(RunningSumGatherer.primeOrTen()).toList();
+
+        // The original anonymous gatherer has no finisher and drops the trailing bundle
+        Assertions.assertThat(actual.subList(0, expected.size())).isEqualTo(expected);
+    }
+
+    @Test
+    void testSummingWithCustomTrigger() {
+        List<IntChunk> actual = Stream.of(5, 5, 1, 20, 3, 3)
+            .gather(RunningSumGatherer.summing(3, sum -> sum >= 10))
+            .toList();
+
+        Assertions.assertThat(actual).isEqualTo(List.of(List.of(5, 5), List.of(1, 20), List.of(3, 3)));
+    }
+
+    @Test
+    void testAggregatingWithMax() {
+        List<IntChunk> actual = Stream.of(1, 4, 2, 9, 3, 1)
+            .gather(RunningSumGatherer.aggregating(10, Long.MIN_VALUE, Math::max, max -> max > 8))
+            .toList();
+
+        Assertions.assertThat(actual).isEqualTo(List.of(List.of(1, 4, 2, 9), List.of(3, 1)));
+    }
+}
@@ -0,0 +1,66 @@
+package com.evolutionnext.streamgatherers;
+
+import com.evolutionnext.unnamedvariables.Order;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class SketchGatherersTest {
+
+    @Test
+    void testDistinctCountWithinErrorBoundAndMergesExactly() {
+        List<Integer> input = new Random(18).ints(500_000, 0, 200_000).boxed().toList();
+        long exact = input.stream().distinct().count();
+
+        long sequential = input.stream().gather(SketchGatherers.<Integer>distinctCount(14)).findFirst().orElseThrow();
+        long parallel = input.parallelStream().gather(SketchGatherers.<Integer>distinctCount(14)).findFirst().orElseThrow();
+
+        Assertions.assertThat(parallel).isEqualTo(sequential);
+        Assertions.assertThat((double) sequential).isCloseTo(exact, Assertions.withinPercentage(3));
+        Assertions.assertThat(IntStream.range(0, 10).boxed().gather(SketchGatherers.<Integer>distinctCount(12)).toList())
+            .containsExactly(10L);
+        Assertions.assertThat(HyperLogLog.withRelativeError(0.01).precision()).isEqualTo(14);
+    }
+
+    @Test
+    void testQuantilesWithinRankError() {
+        List<Integer> shuffled = new Random(180).ints(0, 1_000_000).distinct().limit(200_000).boxed().toList();
+        List<Integer> sorted = shuffled.stream().sorted().toList();
+
+        KllSketch sketch = shuffled.parallelStream().gather(SketchGatherers.quantiles(200, Integer::doubleValue))
+            .findFirst().orElseThrow();
+
+        Assertions.assertThat(sketch.count()).isEqualTo(200_000);
+        Assertions.assertThat(sketch.min()).isEqualTo(sorted.getFirst().doubleValue());
+        Assertions.assertThat(sketch.max()).isEqualTo(sorted.getLast().doubleValue());
+        for (double rank : new double[]{0.01, 0.25, 0.5, 0.9, 0.99}) {
+            int actualRank = Collections.binarySearch(sorted, (int) sketch.quantile(rank));
+            Assertions.assertThat(actualRank / 200_000.0).as("rank %s", rank).isCloseTo(rank, Assertions.within(0.02));
+        }
+    }
+
+    @Test
+    void testSketchesPerKey() {
+        Random random = new Random(181);
+        List<Order> orders = IntStream.range(0, 50_000)
+            .mapToObj(_ -> new Order(List.of("CA", "NY").get(random.nextInt(2)), random.nextInt(10, 201)))
+            .toList();
+
+        Map<String, Long> distinctAmounts = orders.parallelStream()
+            .gather(SketchGatherers.distinctCountPerKey(Order::state, Order::amount, 12))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        Map<String, KllSketch> amountQuantiles = orders.parallelStream()
+            .gather(SketchGatherers.quantilesPerKey(Order::state, 200, Order::amount))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        Assertions.assertThat(distinctAmounts).containsOnlyKeys("CA", "NY");
+        distinctAmounts.values().forEach(d -> Assertions.assertThat(d).isBetween(186L, 196L));
+        amountQuantiles.values().forEach(q -> Assertions.assertThat(q.quantile(0.5)).isBetween(95.0, 115.0));
+    }
+}
@@ -0,0 +1,79 @@
+package com.evolutionnext.streamgatherers;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Gatherers;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class SlidingWindowGathererTest {
+
+    private final List<Integer> input = new Random(14).ints(2_000, -500, 500).boxed().toList();
+
+    @Test
+    void testWindowViewsMatchWindowSliding() {
+        for (int size : new int[]{1, 3, 100, 5_000}) {
+            List<List<Integer>> expected = input.stream().gather(Gatherers.windowSliding(size)).toList();
+            List<List<Integer>> actual = input.stream()
+                .gather(SlidingWindowGatherer.<Integer>windowViews(size))
+                .map(List::copyOf)
+                .toList();
+            Assertions.assertThat(actual).as("window of %d", size).isEqualTo(expected);
+        }
+
+        List<Integer> view = Stream.of(1, 2, 3).gather(SlidingWindowGatherer.<Integer>windowViews(2)).findFirst().orElseThrow();
+        Assertions.assertThatThrownBy(() -> view.set(0, 9)).isInstanceOf(UnsupportedOperationException.class);
+        Assertions.assertThatThrownBy(() -> view.add(9)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void testMovingAggregatesMatchRecomputedWindows() {
+        int size = 37;
+        List<List<Integer>> windows = input.stream().gather(Gatherers.windowSliding(size)).toList();
+
+        Assertions.assertThat(input.stream().gather(SlidingWindowGatherer.movingSum(size, Integer::longValue)).toList())
+            .isEqualTo(windows.stream().map(w -> w.stream().mapToLong(Integer::longValue).sum()).toList());
+        Assertions.assertThat(input.stream().gather(SlidingWindowGatherer.movingMin(size, Integer::doubleValue)).toList())
+            .isEqualTo(windows.stream().map(w -> w.stream().mapToDouble(Integer::doubleValue).min().orElseThrow()).toList());
+        Assertions.assertThat(input.stream().gather(SlidingWindowGatherer.movingMax(size, Integer::doubleValue)).toList())
+            .isEqualTo(windows.stream().map(w -> w.stream().mapToDouble(Integer::doubleValue).max().orElseThrow()).toList());
+
+        List<Double> means = input.stream().gather(SlidingWindowGatherer.movingMean(size, Integer::doubleValue)).toList();
+        List<Double> expectedMeans = windows.stream().map(w -> w.stream().mapToDouble(Integer::doubleValue).average().orElseThrow()).toList();
+        Assertions.assertThat(means).hasSameSizeAs(expectedMeans);
+        for (int i = 0; i < means.size(); i++) {
+            Assertions.assertThat(means.get(i)).isCloseTo(expectedMeans.get(i), Assertions.within(1e-9));
+        }
+    }
+
+    @Test
+    void testWindowAggregateAddsAndEvicts() {
+        List<String> joined = IntStream.range(0, 6).boxed()
+            .gather(SlidingWindowGatherer.windowAggregate(3, () -> new SlidingWindowGatherer.WindowAggregator<Integer, String>() {
+                private final StringBuilder builder = new StringBuilder();
+
+                @Override
+                public void add(Integer element) {
+                    builder.append(element);
+                }
+
+                @Override
+                public void evict(Integer element) {
+                    builder.deleteCharAt(0);
+                }
+
+                @Override
+                public String result() {
+                    return builder.toString();
+                }
+            }))
+            .toList();
+
+        Assertions.assertThat(joined).containsExactly("012", "123", "234", "345");
+        Assertions.assertThat(Stream.of(4, 2).gather(SlidingWindowGatherer.movingMin(5, Integer::doubleValue)).toList())
+            .containsExactly(2.0);
+    }
+}
@@ -0,0 +1,99 @@
+package com.evolutionnext.streamgatherers;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.evolutionnext.streamgatherers.SpillingGroupByGatherer.SpillingGroupBy.spillingGroupBy;
+
+public class SpillingGroupByGathererTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    void testSpillingGroupByMatchesGroupByAcrossManySpills() throws IOException {
+        List<Integer> input = new Random(9).ints(50_000, 0, 1_000).boxed().toList();
+
+        Map<Integer, List<Integer>> expected = new TreeMap<>(input.stream()
+            .gather(GroupByGatherer.GroupBy.groupBy((Integer i) -> i % 997))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+
+        List<Map.Entry<Integer, Iterable<Integer>>> groups = input.stream()
+            .gather(new SpillingGroupByGatherer.SpillingGroupBy<>((Integer i) -> i % 997, Comparator.naturalOrder(),
+                SpillCodec.ints(), SpillCodec.ints(), 1_000, spillDirectory))
+            .toList();
+
+        Assertions.assertThat(groups).extracting(Map.Entry::getKey).containsExactlyElementsOf(expected.keySet());
+        for (Map.Entry<Integer, Iterable<Integer>> group : groups) {
+            Assertions.assertThat(group.getValue()).containsExactlyElementsOf(expected.get(group.getKey()));
+            // Each group is read lazily from the runs, so iterating it a second time must give the same values
+            Assertions.assertThat(group.getValue()).containsExactlyElementsOf(expected.get(group.getKey()));
+        }
+        try (Stream<Path> leftovers = Files.list(spillDirectory)) {
+            Assertions.assertThat(leftovers).isEmpty();
+        }
+    }
+
+    @Test
+    void testFailedSpillLeavesNoRunBehind() throws IOException {
+        SpillCodec<Integer> failing = new SpillCodec<>() {
+            @Override
+            public void write(Integer value, DataOutput out) throws IOException {
+                if (value == 500) throw new IOException("disk full");
+                out.writeInt(value);
+            }
+
+            @Override
+            public Integer read(DataInput in) throws IOException {
+                return in.readInt();
+            }
+        };
+
+        Assertions.assertThatThrownBy(() -> IntStream.range(0, 1_000).boxed()
+                .gather(new SpillingGroupByGatherer.SpillingGroupBy<>((Integer i) -> i, Comparator.naturalOrder(),
+                    SpillCodec.ints(), failing, 800, spillDirectory))
+                .toList())
+            .isInstanceOf(UncheckedIOException.class)
+            .hasRootCauseMessage("disk full");
+        try (Stream<Path> leftovers = Files.list(spillDirectory)) {
+            Assertions.assertThat(leftovers).isEmpty();
+        }
+    }
+
+    @Test
+    void testSpillingGroupByWithinBudgetAndShortCircuit() {
+        List<Map.Entry<String, Iterable<String>>> groups = Stream.of("kiwi", "apple", "fig", "avocado", "banana", "key lime")
+            .gather(spillingGroupBy((String s) -> s.substring(0, 1), SpillCodec.strings(), SpillCodec.strings(), 100))
+            .toList();
+
+        Assertions.assertThat(groups).extracting(Map.Entry::getKey).containsExactly("a", "b", "f", "k");
+        Assertions.assertThat(groups.getFirst().getValue()).containsExactly("apple", "avocado");
+
+        List<String> firstKeys = IntStream.range(0, 10_000).boxed()
+            .map(i -> "key-" + (i % 500))
+            .gather(spillingGroupBy((String s) -> s, SpillCodec.strings(), SpillCodec.strings(), 64))
+            .limit(3)
+            .map(Map.Entry::getKey)
+            .toList();
+        Assertions.assertThat(firstKeys).containsExactly("key-0", "key-1", "key-10");
+
+        Assertions.assertThatThrownBy(() -> spillingGroupBy((String s) -> s, SpillCodec.strings(), SpillCodec.strings(), 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,87 @@
+package com.evolutionnext.streamgatherers;
+
+import com.evolutionnext.streamgatherers.TopKGatherer.HeavyHitter;
+import com.evolutionnext.unnamedvariables.Order;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class TopKGathererTest {
+
+    @Test
+    void testTopKMatchesSortingInParallel() {
+        List<Integer> input = new Random(17).ints(100_000).boxed().toList();
+
+        List<Integer> expected = input.stream().sorted(Comparator.reverseOrder()).limit(25).toList();
+
+        Assertions.assertThat(input.stream().gather(TopKGatherer.topK(25)).toList()).isEqualTo(expected);
+        Assertions.assertThat(input.parallelStream().gather(TopKGatherer.topK(25)).toList()).isEqualTo(expected);
+        Assertions.assertThat(List.of(3, 1, 2).stream().gather(TopKGatherer.topK(10)).toList()).containsExactly(3, 2, 1);
+    }
+
+    @Test
+    void testLargestOrderAmountsPerState() {
+        Random random = new Random(170);
+        List<Order> orders = IntStream.range(0, 10_000)
+            .mapToObj(_ -> new Order(List.of("CA", "NY", "TX").get(random.nextInt(3)), random.nextInt(10_000)))
+            .toList();
+
+        Map<String, List<Order>> topPerState = orders.parallelStream()
+            .gather(TopKGatherer.topKPerKey(3, Order::state, Comparator.comparingInt(Order::amount)))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        Assertions.assertThat(topPerState).containsOnlyKeys("CA", "NY", "TX");
+        topPerState.forEach((state, top) -> Assertions.assertThat(top).extracting(Order::amount)
+            .isEqualTo(orders.stream().filter(o -> o.state().equals(state)).map(Order::amount)
+                .sorted(Comparator.reverseOrder()).limit(3).toList()));
+    }
+
+    @Test
+    void testHeavyHittersFindFrequentElements() {
+        Random random = new Random(171);
+        List<Integer> input = IntStream.range(0, 200_000)
+            .map(i -> i % 4 == 0 ? random.nextInt(5) : 100 + random.nextInt(50_000))
+            .boxed()
+            .toList();
+        Map<Integer, Long> exact = input.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        for (boolean parallel : new boolean[]{false, true}) {
+            List<HeavyHitter<Integer>> hitters = (parallel ? input.parallelStream() : input.stream())
+                .gather(TopKGatherer.<Integer>heavyHitters(100))
+                .toList();
+
+            Assertions.assertThat(hitters).hasSizeLessThanOrEqualTo(100);
+            Assertions.assertThat(hitters.subList(0, 5)).extracting(HeavyHitter::element).containsExactlyInAnyOrder(0, 1, 2, 3, 4);
+            for (HeavyHitter<Integer> hitter : hitters.subList(0, 5)) {
+                long actual = exact.get(hitter.element());
+                Assertions.assertThat(hitter.count()).isGreaterThanOrEqualTo(actual);
+                Assertions.assertThat(hitter.count() - hitter.error()).isLessThanOrEqualTo(actual);
+            }
+        }
+    }
+
+    @Test
+    void testCountMinSketchNeverUndercounts() {
+        Random random = new Random(172);
+        List<Integer> input = IntStream.range(0, 100_000).map(_ -> random.nextInt(1_000)).boxed().toList();
+        Map<Integer, Long> exact = input.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        CountMinSketch<Integer> sketch = input.parallelStream().gather(TopKGatherer.<Integer>countMinSketch(0.001, 0.01))
+            .findFirst().orElseThrow();
+
+        Assertions.assertThat(sketch.total()).isEqualTo(100_000);
+        long withinBound = exact.entrySet().stream()
+            .filter(e -> sketch.estimate(e.getKey()) >= e.getValue())
+            .filter(e -> sketch.estimate(e.getKey()) <= e.getValue() + 100)
+            .count();
+        Assertions.assertThat(exact).allSatisfy((k, v) -> Assertions.assertThat(sketch.estimate(k)).isGreaterThanOrEqualTo(v));
+        Assertions.assertThat(withinBound).isGreaterThanOrEqualTo(990);
+    }
+}
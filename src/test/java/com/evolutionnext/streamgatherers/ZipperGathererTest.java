@@ -1,10 +1,25 @@
 package com.evolutionnext.streamgatherers;
 
 
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
+import com.evolutionnext.streamgatherers.zipper.LazyStream;
+import com.evolutionnext.streamgatherers.zipper.ZipperGatherer;
+
 import static com.evolutionnext.streamgatherers.zipper.Zippers.zip;
 
 public class ZipperGathererTest {
@@ -27,4 +42,111 @@ public class ZipperGathererTest {
         Stream<Integer> fibonacci = fibonacciSequence();
         fibonacci.limit(10).forEach(System.out::println);
     }
+
+    @Test
+    void testMemoizedFibonacci() {
+        Assertions.assertThat(ZipperGatherer.fibonacci().limit(10).toList())
+            .containsExactly(0, 1, 1, 2, 3, 5, 8, 13, 21, 34);
+        Assertions.assertThat(ZipperGatherer.fibonacci().limit(40).toList())
+            .isEqualTo(fibonacciSequence().limit(40).toList());
+    }
+
+    @Test
+    void testMemoizedBigFibonacciRunsInLinearTime() {
+        BigInteger a = BigInteger.ZERO, b = BigInteger.ONE;
+        for (int i = 0; i < 100_000; i++) {
+            BigInteger next = a.add(b);
+            a = b;
+            b = next;
+        }
+        Assertions.assertThat(ZipperGatherer.bigFibonacci().skip(100_000).findFirst()).contains(a);
+
+        // The same definition as bigFibonacci, counting additions: one per element past the first two
+        AtomicInteger additions = new AtomicInteger();
+        Optional<BigInteger> tenThousandth = LazyStream.<BigInteger>fix(fib -> LazyStream.cons(BigInteger.ZERO,
+                () -> LazyStream.cons(BigInteger.ONE, () -> fib.zipWith(fib.tail(), (x, y) -> {
+                    additions.incrementAndGet();
+                    return x.add(y);
+                }))))
+            .stream().skip(10_000).findFirst();
+        Assertions.assertThat(tenThousandth).isPresent();
+        Assertions.assertThat(additions).hasValue(9_999);
+    }
+
+    @Test
+    void testSelfDependentLazyStreamThrows() {
+        Assertions.assertThatThrownBy(() -> LazyStream.<Integer>fix(s -> s).head())
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testLazyStreamWalkedFromManyThreads() throws Exception {
+        LazyStream<Integer> naturals = LazyStream.fix(self -> LazyStream.cons(0, () -> self.zipWith(self, (x, _) -> x + 1)));
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<List<Integer>>> walks = IntStream.range(0, 8)
+                .mapToObj(_ -> executor.submit(() -> naturals.stream().limit(20_000).toList()))
+                .toList();
+            for (Future<List<Integer>> walk : walks) {
+                Assertions.assertThat(walk.get(30, TimeUnit.SECONDS)).isEqualTo(IntStream.range(0, 20_000).boxed().toList());
+            }
+        }
+    }
+
+    @Test
+    void testLazyStreamEvaluatesEachCellOnce() {
+        AtomicInteger evaluations = new AtomicInteger();
+        LazyStream<Integer> naturals = LazyStream.fix(self ->
+            LazyStream.cons(0, () -> self.zipWith(self, (x, _) -> {
+                evaluations.incrementAndGet();
+                return x + 1;
+            })));
+
+        Assertions.assertThat(naturals.stream().limit(5).toList()).containsExactly(0, 1, 2, 3, 4);
+        Assertions.assertThat(naturals.stream().limit(5).toList()).containsExactly(0, 1, 2, 3, 4);
+        Assertions.assertThat(evaluations).hasValue(4);
+        Assertions.assertThat(LazyStream.empty().stream().toList()).isEmpty();
+    }
+
+    @Test
+    void testParallelZipKeepsPairing() {
+        List<Integer> left = IntStream.range(0, 200_000).boxed().toList();
+        Stream<Integer> right = IntStream.range(0, 200_000).boxed().parallel();
+
+        List<Integer> differences = zip(left.stream().parallel(), right, (a, b) -> a - b).toList();
+
+        Assertions.assertThat(differences).hasSize(200_000).containsOnly(0);
+    }
+
+    @Test
+    void testParallelZipWithUnequalLengths() {
+        List<String> items = List.of("Eggs", "Milk", "Bread", "Tea", "Apricots");
+        List<String> zipped = zip(items.stream().parallel(), IntStream.range(1, 1000).boxed(), (item, i) -> i + ". " + item)
+            .toList();
+        Assertions.assertThat(zipped).containsExactly("1. Eggs", "2. Milk", "3. Bread", "4. Tea", "5. Apricots");
+
+        List<Integer> shorterRight = zip(IntStream.range(0, 100_000).boxed().parallel(), IntStream.range(0, 70_001).boxed(), Integer::sum)
+            .toList();
+        Assertions.assertThat(shorterRight).hasSize(70_001);
+        Assertions.assertThat(shorterRight).isEqualTo(IntStream.range(0, 70_001).map(i -> 2 * i).boxed().toList());
+    }
+
+    @Test
+    void testParallelZipOfUnsizedStreams() {
+        Stream<Integer> left = Stream.iterate(0, i -> i + 1).limit(50_000).parallel();
+        Stream<Integer> right = Stream.iterate(0, i -> i - 1).limit(60_000);
+
+        Assertions.assertThat(zip(left, right, Integer::sum).toList()).hasSize(50_000).containsOnly(0);
+    }
+
+    @Test
+    void testPrimitiveZippers() {
+        List<String> letters = List.of("a", "b", "c");
+
+        Assertions.assertThat(letters.stream().gather(zip(IntStream.range(1, 10)).with((String s, int i) -> s + i)).toList())
+            .containsExactly("a1", "b2", "c3");
+        Assertions.assertThat(letters.stream().gather(zip(LongStream.of(7L, 8L)).with((String s, long l) -> s + l)).toList())
+            .containsExactly("a7", "b8");
+        Assertions.assertThat(letters.stream().gather(zip(DoubleStream.of(0.5, 1.5, 2.5)).with((String s, double d) -> s + d)).toList())
+            .containsExactly("a0.5", "b1.5", "c2.5");
+    }
 }
@@ -0,0 +1,88 @@
+package com.evolutionnext.unnamedvariables;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+public class BallMachineTest {
+
+    @Test
+    void testGetBallIsTheSameDodgeBall() {
+        assertThat(BallMachine.getBall()).isSameAs(BallMachine.getBall()).isEqualTo(new RedBall("One made for dodge ball"));
+    }
+
+    @Test
+    void testSameSeedSameBallsSequentialOrParallel() {
+        BallMachine machine = BallMachine.uniform(25);
+        assertThat(machine.balls(100_000).parallel().toList())
+            .isEqualTo(BallMachine.uniform(25).balls(100_000).toList())
+            .isNotEqualTo(BallMachine.uniform(26).balls(100_000).toList());
+        assertThat(machine.balls(10).skip(7).findFirst()).contains(machine.ball(7));
+        Spliterator<Ball> spliterator = machine.spliterator(11);
+        assertThat(spliterator.trySplit().estimateSize()).isEqualTo(5);
+        assertThat(spliterator.estimateSize()).isEqualTo(6);
+    }
+
+    @Test
+    void testWeightedMix() {
+        Map<Class<?>, Long> counts = BallMachine.weighted(3, 6, 3, 1).balls(600_000)
+            .collect(Collectors.groupingBy(Object::getClass, Collectors.counting()));
+        assertThat((double) counts.get(RedBall.class)).isCloseTo(360_000, withinPercentage(2));
+        assertThat((double) counts.get(GreenBall.class)).isCloseTo(180_000, withinPercentage(2));
+        assertThat((double) counts.get(BlueBall.class)).isCloseTo(60_000, withinPercentage(2));
+        assertThat(BallMachine.weighted(3, 1, 0, 1).balls(100_000)).noneMatch(GreenBall.class::isInstance);
+        assertThat(BallMachine.weighted(3, 0, 1, 0).balls(100_000)).allMatch(GreenBall.class::isInstance);
+    }
+
+    @Test
+    void testBallsAreCanonicalInstances() {
+        Set<Ball> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        BallMachine.uniform(4).balls(1_000_000).forEach(distinct::add);
+        assertThat(distinct).hasSizeLessThanOrEqualTo(BallMachine.DESCRIPTIONS.size() + 365 + BallMachine.ACHIEVEMENTS);
+
+        BallMachine machine = BallMachine.uniform(5);
+        Map<Ball, Ball> first = new HashMap<>();
+        for (long i = 0; i < 100_000; i++) {
+            Ball ball = machine.ball(i);
+            assertThat(first.computeIfAbsent(ball, Function.identity())).isSameAs(ball);
+        }
+    }
+
+    @Test
+    void testProduceYieldsTheSameBalls() {
+        BallMachine machine = BallMachine.weighted(9, 1, 2, 3);
+        Map<Ball, Long> expected = machine.balls(200_003).collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        for (int producers : new int[]{1, 4, 7}) {
+            try (Stream<Ball> balls = machine.produce(200_003, producers, 256)) {
+                assertThat(balls.collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))).isEqualTo(expected);
+            }
+        }
+        try (Stream<Ball> balls = machine.produce(1_000, 3, 8)) {
+            assertThat(balls.iterator().next()).isNotNull();
+        }
+        try (Stream<Ball> balls = machine.produce(1_000_000, 4, 16)) {
+            assertThat(balls.limit(100).count()).isEqualTo(100);
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThatThrownBy(() -> BallMachine.weighted(1, 0, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BallMachine.weighted(1, -1, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BallMachine.uniform(1).balls(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BallMachine.uniform(1).produce(10, 0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BallMachine.uniform(1).produce(10, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
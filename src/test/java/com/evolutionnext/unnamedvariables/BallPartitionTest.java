@@ -0,0 +1,90 @@
+package com.evolutionnext.unnamedvariables;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BallPartitionTest {
+
+    @Test
+    void testPartitionKeepsEncounterOrderPerType() {
+        Ball[] balls = {new RedBall("one"), new BlueBall(1L), new GreenBall(LocalDate.of(2023, 1, 1)),
+            new RedBall("two"), new BlueBall(2L)};
+        BallPartition partition = BallPartition.of(balls);
+        assertThat(partition.reds()).containsExactly(new RedBall("one"), new RedBall("two"));
+        assertThat(partition.greens()).containsExactly(new GreenBall(LocalDate.of(2023, 1, 1)));
+        assertThat(partition.blues()).containsExactly(new BlueBall(1L), new BlueBall(2L));
+        assertThat(partition.size()).isEqualTo(5);
+        assertThat(BallPartition.of(new LinkedList<>(Arrays.asList(balls))).reds()).isEqualTo(partition.reds());
+        assertThat(BallPartition.of(new Ball[0]).size()).isZero();
+    }
+
+    @Test
+    void testParallelMatchesSequential() {
+        for (int size : List.of(0, 10, BallPartition.CHUNK_SIZE, BallPartition.CHUNK_SIZE * 7 + 3)) {
+            Ball[] balls = randomBalls(size, 24);
+            BallPartition sequential = BallPartition.of(balls);
+            BallPartition parallel = BallPartition.ofParallel(balls);
+            assertThat(parallel.reds()).isEqualTo(sequential.reds());
+            assertThat(parallel.greens()).isEqualTo(sequential.greens());
+            assertThat(parallel.blues()).isEqualTo(sequential.blues());
+            assertThat(parallel.size()).isEqualTo(size);
+        }
+    }
+
+    @Test
+    void testSkewedMixGrowsArrays() {
+        Ball[] balls = new Ball[1_000];
+        Arrays.setAll(balls, i -> i == 500 ? new GreenBall(LocalDate.EPOCH) : new BlueBall((long) i));
+        BallPartition partition = BallPartition.of(balls);
+        assertThat(partition.blues()).hasSize(999);
+        assertThat(partition.blues()[998]).isEqualTo(new BlueBall(999L));
+        assertThat(partition.greens()).hasSize(1);
+        assertThat(partition.reds()).isEmpty();
+    }
+
+    @Test
+    void testForEachSameAsSwitch() {
+        Ball[] balls = randomBalls(10_000, 7);
+        List<String> expected = new ArrayList<>();
+        for (Ball ball : balls) {
+            if (ball instanceof RedBall) expected.add("Red Ball");
+        }
+        for (Ball ball : balls) {
+            if (ball instanceof GreenBall) expected.add("Green Ball");
+        }
+        for (Ball ball : balls) {
+            if (ball instanceof BlueBall) expected.add("Blue Ball");
+        }
+        List<String> actual = new ArrayList<>();
+        BallPartition.of(balls).forEach(_ -> actual.add("Red Ball"), _ -> actual.add("Green Ball"), _ -> actual.add("Blue Ball"));
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void testNullBallThrows() {
+        assertThatThrownBy(() -> BallPartition.of(new Ball[]{new RedBall("x"), null}))
+            .isInstanceOf(NullPointerException.class);
+    }
+
+    private static Ball[] randomBalls(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Ball[] balls = new Ball[size];
+        for (int i = 0; i < size; i++) {
+            balls[i] = switch (random.nextInt(3)) {
+                case 0 -> new RedBall("red " + i);
+                case 1 -> new GreenBall(LocalDate.EPOCH.plusDays(i));
+                default -> new BlueBall((long) i);
+            };
+        }
+        return balls;
+    }
+}
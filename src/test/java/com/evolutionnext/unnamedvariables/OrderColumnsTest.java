@@ -0,0 +1,59 @@
+package com.evolutionnext.unnamedvariables;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OrderColumnsTest {
+
+    @Test
+    void testSummarizeByStateMatchesGroupingBy() {
+        List<Order> orders = OrderGenerator.zipf(21, 1.1).orders(3 * OrderColumns.CHUNK_ROWS + 123).toList();
+        OrderColumns columns = OrderColumns.of(orders);
+        Map<String, IntSummaryStatistics> expected = orders.stream()
+            .collect(Collectors.groupingBy(Order::state, Collectors.summarizingInt(Order::amount)));
+
+        Map<String, IntSummaryStatistics> actual = columns.summarizeByState();
+
+        assertThat(actual).containsOnlyKeys(expected.keySet());
+        expected.forEach((state, statistics) -> {
+            assertThat(actual.get(state)).hasToString(statistics.toString());
+            assertThat(columns.summarize(state)).hasToString(statistics.toString());
+        });
+        assertThat(columns.order(42)).isEqualTo(orders.get(42));
+    }
+
+    @Test
+    void testSummarizeHandlesLargeAmountsAndMissingStates() {
+        List<Order> orders = List.of(
+            new Order("CA", Integer.MAX_VALUE), new Order("CA", Integer.MAX_VALUE), new Order("NY", Integer.MIN_VALUE),
+            new Order("CA", -5));
+        OrderColumns columns = OrderColumns.of(orders);
+
+        IntSummaryStatistics california = columns.summarize("CA");
+        assertThat(california.getSum()).isEqualTo(2L * Integer.MAX_VALUE - 5);
+        assertThat(california.getMin()).isEqualTo(-5);
+        assertThat(columns.summarize("TX").getCount()).isZero();
+        assertThat(columns.summarizeByState()).containsOnlyKeys("CA", "NY");
+        assertThatThrownBy(() -> columns.summarize("ZZ")).isInstanceOf(IllegalArgumentException.class);
+
+        OrderColumns large = OrderColumns.of(Collections.nCopies(10_000, new Order("TX", Integer.MAX_VALUE)));
+        assertThat(large.summarize("TX").getSum()).isEqualTo(10_000L * Integer.MAX_VALUE);
+        assertThat(large.summarizeByState().get("TX").getSum()).isEqualTo(10_000L * Integer.MAX_VALUE);
+    }
+
+    @Test
+    void testGenerateMatchesGenerator() {
+        OrderGenerator generator = OrderGenerator.uniform(22);
+        OrderColumns columns = OrderColumns.generate(generator, 10_000);
+        assertThat(columns.size()).isEqualTo(10_000);
+        assertThat(columns.order(9_999)).isEqualTo(generator.order(9_999));
+    }
+}
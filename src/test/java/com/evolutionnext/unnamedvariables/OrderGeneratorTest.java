@@ -0,0 +1,68 @@
+package com.evolutionnext.unnamedvariables;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+public class OrderGeneratorTest {
+
+    @Test
+    void testSameSeedSameOrdersSequentialOrParallel() {
+        OrderGenerator generator = OrderGenerator.uniform(20);
+        assertThat(generator.orders(100_000).parallel().toList())
+            .isEqualTo(OrderGenerator.uniform(20).orders(100_000).toList())
+            .isNotEqualTo(OrderGenerator.uniform(21).orders(100_000).toList());
+        assertThat(generator.orders(10).skip(7).findFirst()).contains(generator.order(7));
+    }
+
+    @Test
+    void testAmountsAndStatesInRange() {
+        var summary = OrderGenerator.uniform(1).orders(200_000).mapToInt(Order::amount).summaryStatistics();
+        assertThat(summary.getMin()).isEqualTo(OrderGenerator.MIN_AMOUNT);
+        assertThat(summary.getMax()).isEqualTo(OrderGenerator.MAX_AMOUNT);
+        Map<String, Long> counts = OrderGenerator.uniform(1).orders(500_000)
+            .collect(Collectors.groupingBy(Order::state, Collectors.counting()));
+        assertThat(counts).hasSize(50);
+        counts.values().forEach(count -> assertThat((double) count).isCloseTo(10_000, withinPercentage(5)));
+    }
+
+    @Test
+    void testSkewedStates() {
+        Map<String, Long> zipf = OrderGenerator.zipf(2, 1.2).orders(500_000)
+            .collect(Collectors.groupingBy(Order::state, Collectors.counting()));
+        // Weights 1, 1/2^1.2 and 1/50^1.2: AL ~ 2.3 AK, AK ~ 47.6 WY, AL ~ 109 WY
+        assertThat(zipf.get("AL")).isGreaterThan(zipf.get("AK") * 2);
+        assertThat(zipf.get("AK")).isGreaterThan(zipf.get("WY") * 40);
+        assertThat(zipf.get("AL")).isGreaterThan(zipf.get("WY") * 100);
+
+        Map<String, Long> weighted = OrderGenerator.weighted(3, Map.of("CA", 3, "NY", 1)).orders(400_000)
+            .collect(Collectors.groupingBy(Order::state, Collectors.counting()));
+        assertThat(weighted).containsOnlyKeys("CA", "NY");
+        assertThat((double) weighted.get("CA")).isCloseTo(300_000, withinPercentage(1));
+        assertThatThrownBy(() -> OrderGenerator.weighted(3, Map.of("CA", -1)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testSpliteratorSplitsEvenly() {
+        Spliterator<Order> right = OrderGenerator.uniform(4).spliterator(1_000_001);
+        assertThat(right.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)).isTrue();
+        Spliterator<Order> left = right.trySplit();
+        assertThat(left.estimateSize()).isEqualTo(500_000);
+        assertThat(right.estimateSize()).isEqualTo(500_001);
+        assertThat(left.getExactSizeIfKnown() + right.getExactSizeIfKnown()).isEqualTo(1_000_001);
+        assertThat(OrderGenerator.uniform(4).spliterator(1).trySplit()).isNull();
+    }
+
+    @Test
+    void testBillionsOfOrdersAreLazy() {
+        assertThat(OrderGenerator.uniform(5).orders(5_000_000_000L).parallel().limit(3).count()).isEqualTo(3);
+        assertThat(OrderGenerator.uniform(5).orders(5_000_000_000L).count()).isEqualTo(5_000_000_000L);
+    }
+}